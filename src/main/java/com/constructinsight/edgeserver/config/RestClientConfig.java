@@ -1,18 +1,94 @@
 package com.constructinsight.edgeserver.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Configuración de clientes HTTP para comunicación con servicios externos
+ * El RestTemplate usa un pool de conexiones persistentes (Apache HttpClient 5) con
+ * timeouts acotados: una respuesta colgada del backend nunca retiene un hilo indefinidamente.
+ *
+ * El cliente clásico de HttpClient 5 (el que usa RestTemplate) habla HTTP/1.1; la
+ * reutilización de conexiones keep-alive del pool cubre el coste de conexión por petición.
  */
 @Configuration
+@Slf4j
 public class RestClientConfig {
 
+    @Value("${backend.http.connect-timeout:PT2S}")
+    private Duration connectTimeout;
+
+    @Value("${backend.http.read-timeout:PT5S}")
+    private Duration readTimeout;
+
+    @Value("${backend.http.connection-request-timeout:PT2S}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${backend.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${backend.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${backend.http.idle-timeout:PT30S}")
+    private Duration idleTimeout;
+
+    @Value("${backend.http.time-to-live:PT5M}")
+    private Duration timeToLive;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager backendConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // Métricas httpcomponents.httpclient.pool.* (total, disponibles, pendientes, máximo)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "backend-main")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient backendHttpClient(PoolingHttpClientConnectionManager backendConnectionManager) {
+        log.info("🌐 [HTTP] Pool al backend: {} conexiones ({} por ruta), connect {} ms, read {} ms",
+                maxConnections, maxConnectionsPerRoute, connectTimeout.toMillis(), readTimeout.toMillis());
+
+        return HttpClients.custom()
+                .setConnectionManager(backendConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient backendHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(backendHttpClient));
     }
 }
-
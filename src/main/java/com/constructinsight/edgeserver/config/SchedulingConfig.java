@@ -0,0 +1,12 @@
+package com.constructinsight.edgeserver.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (flush de buffers, reconciliaciones, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,88 @@
+package com.constructinsight.edgeserver.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diagnóstico de pinning de hilos virtuales
+ * Escucha el evento JFR {@code jdk.VirtualThreadPinned} (un hilo virtual bloqueado
+ * dentro de un bloque synchronized o de código nativo, p. ej. en un driver JDBC)
+ * y lo expone como la métrica {@code edge.vthreads.pinned}.
+ *
+ * Cada punto de pinning distinto se registra una vez en el log con su frame de origen.
+ */
+@Component
+@ConditionalOnProperty(prefix = "edge.diagnostics.pinning", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${edge.diagnostics.pinning.threshold:PT0.02S}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("edge.vthreads.pinned")
+                .description("Hilos virtuales bloqueados sin poder liberar su carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("🧵 [Diagnostics] Monitor de pinning activo (umbral {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        String site = pinnedSite(event);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("⚠️ [Diagnostics] Hilo virtual fijado {} ms en {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String pinnedSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "desconocido";
+        }
+        // Primer frame fuera del JDK: el código (propio o de una librería) que provoca el pinning
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "JDK";
+    }
+}
@@ -21,6 +21,7 @@ public class WebConfig {
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor")   // cursor de paginación de GET /api/iot/devices
                         .allowCredentials(true);
             }
         };
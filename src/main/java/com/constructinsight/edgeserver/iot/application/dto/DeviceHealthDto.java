@@ -0,0 +1,23 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import java.time.Instant;
+
+/**
+ * Health statistics of a device, as exposed by the fleet-health ranking
+ * Failing rates are fractions (0..1); percentiles are approximate (within 1%)
+ * and weigh recent reports more.
+ */
+public record DeviceHealthDto(
+        String serialNumber,
+        long samples,
+        double ewmaFailingRate,
+        double minFailingRate,
+        double maxFailingRate,
+        Double p50FailingRate,
+        Double p95FailingRate,
+        Double p99FailingRate,
+        Integer failuresSinceStartup,
+        Integer requestsSinceStartup,
+        Instant lastReportAt
+) {
+}
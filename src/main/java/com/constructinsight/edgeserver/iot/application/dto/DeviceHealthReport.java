@@ -0,0 +1,14 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+/**
+ * Health counters reported by a device alongside its telemetry (optional)
+ * Null fields mean the device did not report that value
+ */
+public record DeviceHealthReport(
+        Integer failuresSinceStartup,
+        Integer failuresSinceLastCheckup,
+        Integer requestsSinceLastCheckup,
+        Integer requestsSinceStartup,
+        Double failingRate
+) {
+}
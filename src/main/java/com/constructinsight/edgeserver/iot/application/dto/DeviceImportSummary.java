@@ -0,0 +1,25 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a bulk device import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceImportSummary {
+    private long received;
+    private long inserted;
+    private long skipped;   // Serial number already registered
+    private long rejected;  // Invalid or unparsable rows
+    private long chunks;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private boolean completed;  // false for intermediate progress reports
+    private String error;       // Payload became unreadable: rows after this point were not read
+}
@@ -0,0 +1,17 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated device listing
+ *
+ * @param devices    Devices of this page, ordered by id
+ * @param nextCursor Cursor for the next page, or null if this is the last one
+ */
+public record DevicePage(
+        List<DeviceView> devices,
+        String nextCursor
+) {
+}
@@ -0,0 +1,31 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Current occupancy and recent utilization of a parking, served from memory
+ *
+ * @param spots         Spots with a sensor installed
+ * @param reportedSpots Spots whose sensor reported occupancy since startup
+ * @param occupiedSpots Reported spots currently occupied
+ * @param freeSpots     Reported spots currently free
+ * @param unknownSpots  Spots whose sensor has not reported occupancy yet
+ * @param utilization   Occupied share of reported spot-time, per sliding window
+ */
+public record ParkingOccupancyDto(
+        String parkingId,
+        int spots,
+        int reportedSpots,
+        int occupiedSpots,
+        int freeSpots,
+        int unknownSpots,
+        List<Utilization> utilization
+) {
+
+    /**
+     * @param ratio Between 0 and 1, or null if no spot reported within the window
+     */
+    public record Utilization(Duration window, Double ratio) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Occupancy of one parking spot, served from memory
+ * Public view: it carries no sensor serial number, so anyone can list spots without learning
+ * which devices report them (device listings stay behind the owner's userId).
+ *
+ * @param occupied      Current state, or null if the sensor has not reported yet
+ * @param occupiedSince Start of the current stay, if occupied
+ * @param currentDwell  Length of the current stay so far, if occupied
+ * @param averageDwell  Average length of completed stays, or null if none
+ * @param sessions      Completed stays since startup
+ */
+public record SpotOccupancyDto(
+        String parkingSpotId,
+        Boolean occupied,
+        Instant occupiedSince,
+        Duration currentDwell,
+        Duration averageDwell,
+        long sessions
+) {
+}
@@ -0,0 +1,26 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Telemetry history of one device over a time range
+ *
+ * @param serialNumber Device serial number
+ * @param resolution   Resolution of the points (chosen automatically if not requested)
+ * @param from         Range start (inclusive)
+ * @param to           Range end (exclusive)
+ * @param points       Points ordered by timestamp
+ * @param truncated    True if the range holds more points than were returned
+ */
+public record TelemetryHistory(
+        String serialNumber,
+        TelemetryResolution resolution,
+        Instant from,
+        Instant to,
+        List<TelemetryHistoryPoint> points,
+        boolean truncated
+) {
+}
@@ -0,0 +1,27 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import java.time.Instant;
+
+/**
+ * One point of a device's telemetry history: a raw sample or a rollup bucket
+ *
+ * @param timestamp      Sample time, or bucket start for rollups
+ * @param samples        Reports aggregated in this point (1 for raw samples)
+ * @param averageBattery Average reported battery, or null if none was reported
+ * @param minBattery     Lowest reported battery, or null
+ * @param maxBattery     Highest reported battery, or null
+ * @param failingRate    Failed over total requests, or null if not reported
+ * @param occupiedRatio  Share of the reports with the spot occupied
+ * @param errorSamples   Reports with status ERROR
+ */
+public record TelemetryHistoryPoint(
+        Instant timestamp,
+        long samples,
+        Double averageBattery,
+        Integer minBattery,
+        Integer maxBattery,
+        Double failingRate,
+        double occupiedRatio,
+        long errorSamples
+) {
+}
@@ -0,0 +1,21 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+/**
+ * Per-item outcome of a batch telemetry ingestion
+ */
+public record TelemetryIngestionResult(
+        int index,
+        String serialNumber,
+        Outcome outcome,
+        String message
+) {
+
+    public enum Outcome {
+        /** Telemetry applied to an existing device */
+        ACCEPTED,
+        /** Device was auto-discovered and created */
+        CREATED,
+        /** Report was invalid and ignored */
+        REJECTED
+    }
+}
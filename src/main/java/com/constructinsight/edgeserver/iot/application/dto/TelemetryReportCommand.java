@@ -0,0 +1,27 @@
+package com.constructinsight.edgeserver.iot.application.dto;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+
+import java.time.Instant;
+
+/**
+ * Telemetry report received from a device, independent of the transport (REST, MQTT...)
+ * Null fields mean the device did not report that value
+ */
+public record TelemetryReportCommand(
+        String serialNumber,
+        DeviceStatus status,
+        Integer battery,
+        Instant checkedAt,
+        Boolean occupied,
+        DeviceHealthReport health
+) {
+
+    /**
+     * Report without health counters (e.g. the compact MQTT format)
+     */
+    public TelemetryReportCommand(String serialNumber, DeviceStatus status, Integer battery,
+                                  Instant checkedAt, Boolean occupied) {
+        this(serialNumber, status, battery, checkedAt, occupied, null);
+    }
+}
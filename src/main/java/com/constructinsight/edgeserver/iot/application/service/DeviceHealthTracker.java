@@ -0,0 +1,306 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthDto;
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthReport;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceHealthStats;
+import com.constructinsight.edgeserver.iot.domain.model.FailingRateSketch;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceHealthStatsStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application Service: Rolling health statistics per device
+ * Folds the HealthMonitor block of each report into in-memory statistics: EWMA,
+ * min/max and a decaying histogram sketch of the failing rate, plus the latest
+ * lifetime counters.
+ *
+ * Changed devices are marked dirty and persisted with one batched upsert every
+ * {@code edge.health.flush-interval-ms}; the statistics are reloaded on startup.
+ *
+ * The worst devices of an owner are ranked with a bounded min-heap of size K over the
+ * tracked devices (O(n log K), no sort of the whole fleet and no database query).
+ */
+@Service
+@Slf4j
+public class DeviceHealthTracker {
+
+    private static final Comparator<DeviceHealthStats> BY_SEVERITY = Comparator
+            .comparingDouble(DeviceHealthStats::ewmaFailingRate)
+            .thenComparingDouble(DeviceHealthStats::maxFailingRate)
+            .thenComparing(DeviceHealthStats::serialNumber, Comparator.reverseOrder());
+
+    private final DeviceHealthStatsStore store;
+    private final OwnerKpiTracker kpiTracker;
+    private final double alpha;
+    private final int maxTopLimit;
+
+    private final ConcurrentHashMap<String, DeviceHealth> devices = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter persistedCounter;
+    private final Counter persistFailedCounter;
+
+    public DeviceHealthTracker(
+            DeviceHealthStatsStore store,
+            OwnerKpiTracker kpiTracker,
+            MeterRegistry meterRegistry,
+            @Value("${edge.health.ewma-alpha:0.2}") double alpha,
+            @Value("${edge.health.top.max-limit:100}") int maxTopLimit) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha must be in (0, 1]");
+        }
+        this.store = store;
+        this.kpiTracker = kpiTracker;
+        this.alpha = alpha;
+        this.maxTopLimit = maxTopLimit;
+
+        Gauge.builder("edge.health.tracked", devices, ConcurrentHashMap::size)
+                .description("Devices with health statistics in memory")
+                .register(meterRegistry);
+        Gauge.builder("edge.health.dirty", dirty, Set::size)
+                .description("Devices whose health statistics are not persisted yet")
+                .register(meterRegistry);
+        this.persistedCounter = meterRegistry.counter("edge.health.persisted");
+        this.persistFailedCounter = meterRegistry.counter("edge.health.persist.failed");
+    }
+
+    /**
+     * Reload the persisted statistics. Devices already reported since startup keep
+     * their in-memory state.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersisted() {
+        List<DeviceHealthStats> persisted = store.findAll();
+        persisted.forEach(stats -> devices.putIfAbsent(stats.serialNumber(), new DeviceHealth(stats)));
+        log.info("Loaded health statistics of {} devices", persisted.size());
+    }
+
+    /**
+     * Fold one HealthMonitor report into the statistics of a device
+     *
+     * @param serialNumber Reporting device
+     * @param report       HealthMonitor block of the report
+     * @param reportedAt   Time the report was taken
+     */
+    public void record(String serialNumber, DeviceHealthReport report, Instant reportedAt) {
+        Double rate = failingRate(report);
+        devices.computeIfAbsent(serialNumber, DeviceHealth::new).update(report, rate, reportedAt, alpha);
+        dirty.add(serialNumber);
+    }
+
+    /**
+     * Persist the statistics of every device changed since the last flush
+     *
+     * @return number of devices persisted
+     */
+    @Scheduled(fixedDelayString = "${edge.health.flush-interval-ms:5000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<DeviceHealthStats> changed = new ArrayList<>(dirty.size());
+            for (String serialNumber : dirty) {
+                dirty.remove(serialNumber);
+                DeviceHealth health = devices.get(serialNumber);
+                if (health != null) {
+                    changed.add(health.snapshot());
+                }
+            }
+            if (changed.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                store.saveAll(changed);
+            } catch (Exception e) {
+                log.error("Failed to persist health statistics of {} devices: {}", changed.size(), e.getMessage());
+                persistFailedCounter.increment(changed.size());
+                changed.forEach(stats -> dirty.add(stats.serialNumber()));
+                return 0;
+            }
+            persistedCounter.increment(changed.size());
+            return changed.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        devices.remove(event.serialNumber());
+        dirty.remove(event.serialNumber());
+        store.deleteBySerialNumber(event.serialNumber());
+    }
+
+    /**
+     * A user's devices with the highest EWMA failing rate, worst first
+     * PRIVACY: Only devices bound to ownerId are ranked
+     *
+     * @param limit   Number of devices (K), capped at {@code edge.health.top.max-limit}
+     * @param ownerId Owner whose devices are ranked
+     * @throws IllegalArgumentException if the owner is blank or limit is not positive
+     */
+    public List<DeviceHealthDto> worstDevices(int limit, String ownerId) {
+        if (ownerId == null || ownerId.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+        int k = Math.min(limit, maxTopLimit);
+
+        // Min-heap of the K worst so far: its head is the least severe one, the first to be evicted
+        PriorityQueue<DeviceHealthStats> top = new PriorityQueue<>(k + 1, BY_SEVERITY);
+        for (Map.Entry<String, DeviceHealth> entry : devices.entrySet()) {
+            DeviceHealth health = entry.getValue();
+            if (!health.hasSamples()
+                    || !kpiTracker.ownerOf(entry.getKey()).map(ownerId::equals).orElse(false)) {
+                continue;
+            }
+            // Cheap pre-check on the EWMA so most devices are skipped without a snapshot
+            if (top.size() == k && health.ewma() < top.peek().ewmaFailingRate()) {
+                continue;
+            }
+            top.offer(health.snapshot());
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+
+        List<DeviceHealthStats> worst = new ArrayList<>(top);
+        worst.sort(BY_SEVERITY.reversed());
+        return worst.stream().map(DeviceHealthTracker::toDto).toList();
+    }
+
+    public int trackedCount() {
+        return devices.size();
+    }
+
+    /**
+     * Failing rate of a report as a fraction: the reported rate (a percentage if above 1),
+     * or failures over requests since the last check-up; null if neither is usable
+     */
+    static Double failingRate(DeviceHealthReport report) {
+        Double reported = report.failingRate();
+        if (reported != null && reported >= 0) {
+            return reported > 1 ? Math.min(reported / 100, 1.0) : reported;
+        }
+        Integer failures = report.failuresSinceLastCheckup();
+        Integer requests = report.requestsSinceLastCheckup();
+        if (failures != null && requests != null && requests > 0 && failures >= 0) {
+            return Math.min(1.0, (double) failures / requests);
+        }
+        return null;
+    }
+
+    private static DeviceHealthDto toDto(DeviceHealthStats stats) {
+        FailingRateSketch sketch = stats.sketch();
+        return new DeviceHealthDto(
+                stats.serialNumber(),
+                stats.samples(),
+                stats.ewmaFailingRate(),
+                stats.minFailingRate(),
+                stats.maxFailingRate(),
+                sketch.quantile(0.50),
+                sketch.quantile(0.95),
+                sketch.quantile(0.99),
+                stats.failuresSinceStartup(),
+                stats.requestsSinceStartup(),
+                stats.lastReportAt());
+    }
+
+    /**
+     * Mutable statistics of one device; written from its ingestion lane, read by flushes and rankings
+     */
+    private static final class DeviceHealth {
+
+        private final String serialNumber;
+        private long samples;
+        private double ewma;
+        private double min;
+        private double max;
+        private Integer failuresSinceStartup;
+        private Integer requestsSinceStartup;
+        private final FailingRateSketch sketch;
+        private Instant lastReportAt;
+
+        private DeviceHealth(String serialNumber) {
+            this.serialNumber = serialNumber;
+            this.sketch = new FailingRateSketch();
+        }
+
+        private DeviceHealth(DeviceHealthStats stats) {
+            this.serialNumber = stats.serialNumber();
+            this.samples = stats.samples();
+            this.ewma = stats.ewmaFailingRate();
+            this.min = stats.minFailingRate();
+            this.max = stats.maxFailingRate();
+            this.failuresSinceStartup = stats.failuresSinceStartup();
+            this.requestsSinceStartup = stats.requestsSinceStartup();
+            this.sketch = stats.sketch().copy();
+            this.lastReportAt = stats.lastReportAt();
+        }
+
+        private synchronized void update(DeviceHealthReport report, Double rate, Instant reportedAt, double alpha) {
+            if (report.failuresSinceStartup() != null) {
+                failuresSinceStartup = report.failuresSinceStartup();
+            }
+            if (report.requestsSinceStartup() != null) {
+                requestsSinceStartup = report.requestsSinceStartup();
+            }
+            lastReportAt = reportedAt;
+            if (rate == null) {
+                return;
+            }
+            if (samples == 0) {
+                ewma = rate;
+                min = rate;
+                max = rate;
+            } else {
+                ewma += alpha * (rate - ewma);
+                min = Math.min(min, rate);
+                max = Math.max(max, rate);
+            }
+            samples++;
+            sketch.add(rate);
+        }
+
+        private synchronized boolean hasSamples() {
+            return samples > 0;
+        }
+
+        private synchronized double ewma() {
+            return ewma;
+        }
+
+        private synchronized DeviceHealthStats snapshot() {
+            return new DeviceHealthStats(serialNumber, samples, ewma, min, max,
+                    failuresSinceStartup, requestsSinceStartup, sketch.copy(), lastReportAt);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceImportSummary;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceBulkWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Application Service: Bulk Device Import
+ * Consumes devices incrementally and inserts them in fixed-size chunks,
+ * each chunk in its own multi-row insert and transaction, so memory stays
+ * bounded by the chunk size regardless of the import size.
+ */
+@Service
+@Slf4j
+public class DeviceImportService {
+
+    private final DeviceBulkWriter bulkWriter;
+    private final Validator validator;
+    private final int chunkSize;
+
+    private final Timer chunkTimer;
+    private final Counter insertedCounter;
+
+    public DeviceImportService(
+            DeviceBulkWriter bulkWriter,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Value("${edge.devices.import.chunk-size:1000}") int chunkSize) {
+        this.bulkWriter = bulkWriter;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.chunkTimer = meterRegistry.timer("edge.devices.import.chunk");
+        this.insertedCounter = meterRegistry.counter("edge.devices.import.inserted");
+    }
+
+    /**
+     * Import devices as unbound (ownerId=null).
+     * A null element stands for a row that could not be parsed and is counted as rejected.
+     *
+     * @param devices Devices to import, consumed once
+     * @return Import summary including throughput
+     */
+    public DeviceImportSummary importDevices(Iterator<IotDevice> devices) {
+        return importDevices(devices, progress -> { });
+    }
+
+    /**
+     * Import devices reporting progress after every committed chunk
+     * If reading fails midway (malformed payload), the devices read so far are still
+     * imported and the final summary carries the error.
+     *
+     * @param devices Devices to import, consumed once
+     * @param progressListener Receives an intermediate summary after each chunk
+     * @return Final import summary
+     */
+    public DeviceImportSummary importDevices(Iterator<IotDevice> devices,
+                                             Consumer<DeviceImportSummary> progressListener) {
+        ImportProgress progress = new ImportProgress();
+
+        List<IotDevice> chunk = new ArrayList<>(chunkSize);
+        String error = null;
+        while (true) {
+            IotDevice device;
+            try {
+                if (!devices.hasNext()) {
+                    break;
+                }
+                device = devices.next();
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                error = e.getMessage();
+                log.warn("Device import stopped reading after {} rows: {}", progress.received, error);
+                break;
+            }
+            progress.received++;
+
+            if (!isValid(device)) {
+                progress.rejected++;
+                continue;
+            }
+
+            device.setOwnerId(null);
+            chunk.add(device);
+            if (chunk.size() >= chunkSize) {
+                progress.inserted += writeChunk(chunk);
+                progress.chunks++;
+                progressListener.accept(progress.toSummary(false));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.inserted += writeChunk(chunk);
+            progress.chunks++;
+        }
+
+        DeviceImportSummary summary = progress.toSummary(true);
+        summary.setError(error);
+        log.info("Device import finished: {}", summary);
+        return summary;
+    }
+
+    private int writeChunk(List<IotDevice> chunk) {
+        int inserted = chunkTimer.record(() -> bulkWriter.insertBatch(chunk));
+        insertedCounter.increment(inserted);
+        log.debug("Imported chunk of {} devices ({} inserted)", chunk.size(), inserted);
+        chunk.clear();
+        return inserted;
+    }
+
+    private boolean isValid(IotDevice device) {
+        return device != null
+                && device.getType() != null
+                && device.getStatus() != null
+                && device.getBattery() != null
+                && validator.validate(device).isEmpty();
+    }
+
+    /**
+     * Running counters of an import in progress
+     */
+    private static final class ImportProgress {
+        private final long startNanos = System.nanoTime();
+        private long received;
+        private long inserted;
+        private long rejected;
+        private long chunks;
+
+        DeviceImportSummary toSummary(boolean completed) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            return DeviceImportSummary.builder()
+                    .received(received)
+                    .inserted(inserted)
+                    .skipped(received - rejected - inserted)
+                    .rejected(rejected)
+                    .chunks(chunks)
+                    .elapsedMillis(elapsedMillis)
+                    .rowsPerSecond(elapsedMillis > 0 ? Math.round(inserted * 1000.0 / elapsedMillis) : inserted)
+                    .completed(completed)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sharded executor with one single-writer lane per shard
+ * Tasks are routed by key (the device serial number) onto a fixed lane, so tasks for the
+ * same device run one at a time in submission order, while different devices run in
+ * parallel on other lanes. Each lane owns a bounded queue and one consumer thread;
+ * there is no lock shared between lanes.
+ *
+ * Exposes per-lane queue depth ({@code edge.ingestion.lane.depth}) and submit-to-done
+ * latency ({@code edge.ingestion.lane.latency}), both tagged with the lane index.
+ */
+@Component
+@Slf4j
+public class DeviceLaneExecutor {
+
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final Lane[] lanes;
+    private final long offerTimeoutNanos;
+    private final boolean virtualThreads;
+    private final Counter rejectedCounter;
+
+    private volatile boolean running;
+
+    public DeviceLaneExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${edge.ingestion.lanes:8}") int laneCount,
+            @Value("${edge.ingestion.lane-capacity:10000}") int laneCapacity,
+            @Value("${edge.ingestion.offer-timeout:PT0.1S}") Duration offerTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (laneCount < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("Lane count and capacity must be positive");
+        }
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.virtualThreads = virtualThreads;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, laneCapacity, meterRegistry);
+        }
+        this.rejectedCounter = meterRegistry.counter("edge.ingestion.rejected");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (Lane lane : lanes) {
+            lane.thread = (virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true))
+                    .name("ingestion-lane-" + lane.index)
+                    .start(lane::run);
+        }
+        log.info("Started {} ingestion lanes ({} threads)", lanes.length, virtualThreads ? "virtual" : "platform");
+    }
+
+    /**
+     * Stop accepting tasks and wait for the lanes to finish what is already queued.
+     * Idempotent.
+     */
+    @PreDestroy
+    public void drainAndStop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Lane lane : lanes) {
+            if (lane.thread != null) {
+                lane.thread.join(Duration.ofSeconds(10));
+            }
+        }
+    }
+
+    /**
+     * Queue a task on the lane of {@code key}, waiting up to the offer timeout if the lane is full
+     *
+     * @return false if the executor is stopped or the lane stayed full (the task is not run)
+     */
+    public boolean submit(String key, Runnable task) {
+        if (!running) {
+            rejectedCounter.increment();
+            return false;
+        }
+        Lane lane = lanes[laneOf(key)];
+        try {
+            if (lane.queue.offer(new Task(task, System.nanoTime()), offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Lane index a key is routed to
+     */
+    public int laneOf(String key) {
+        int h = key.hashCode();
+        // Spread the hash so keys differing only in the last characters still spread across lanes
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Tasks waiting in a lane
+     */
+    public int depth(int lane) {
+        return lanes[lane].queue.size();
+    }
+
+    private final class Lane {
+
+        private final int index;
+        private final BlockingQueue<Task> queue;
+        private final Timer latencyTimer;
+        private final Counter failedCounter;
+        private Thread thread;
+
+        private Lane(int index, int capacity, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            String tag = String.valueOf(index);
+            Gauge.builder("edge.ingestion.lane.depth", queue, BlockingQueue::size)
+                    .description("Tasks waiting in an ingestion lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.latencyTimer = Timer.builder("edge.ingestion.lane.latency")
+                    .description("Time from submission until a lane finished the task")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.failedCounter = Counter.builder("edge.ingestion.lane.failed")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+
+        private void run() {
+            while (running || !queue.isEmpty()) {
+                Task task;
+                try {
+                    task = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (task == null) {
+                    continue;
+                }
+
+                try {
+                    task.action().run();
+                } catch (Exception e) {
+                    // A failing task must not stop the lane: later tasks of other devices depend on it
+                    failedCounter.increment();
+                    log.error("Ingestion lane {} task failed: {}", index, e.getMessage(), e);
+                } finally {
+                    latencyTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private record Task(Runnable action, long enqueuedAt) {
+    }
+}
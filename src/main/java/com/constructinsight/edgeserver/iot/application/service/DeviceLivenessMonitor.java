@@ -0,0 +1,220 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Application Service: Liveness of ONLINE devices
+ * Marks a device OFFLINE when it has not checked in for {@code edge.liveness.timeout}.
+ *
+ * Deadlines live in a priority queue ordered by expected next check-in, so a sweep only
+ * looks at devices that are actually due instead of scanning the table. Check-ins do not
+ * touch the queue: when a deadline comes up for a device that checked in meanwhile it is
+ * simply rescheduled (lazy deletion), keeping one queue entry per tracked device.
+ *
+ * Devices found dead are marked OFFLINE in one batched write; those the write actually
+ * changed are published as a {@link DeviceTelemetryAppliedEvent}, so KPI counters and live
+ * streams follow.
+ */
+@Service
+@Slf4j
+public class DeviceLivenessMonitor {
+
+    private final IotDeviceRepository deviceRepository;
+    private final DeviceTelemetryWriter telemetryWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long timeoutMillis;
+    private final LongSupplier clock;
+
+    private final Map<String, Tracked> tracked = new HashMap<>();
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+    private long generations;
+
+    private final Counter offlineCounter;
+
+    @Autowired
+    public DeviceLivenessMonitor(
+            IotDeviceRepository deviceRepository,
+            DeviceTelemetryWriter telemetryWriter,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${edge.liveness.timeout:PT5M}") Duration timeout) {
+        this(deviceRepository, telemetryWriter, eventPublisher, meterRegistry, timeout, System::currentTimeMillis);
+    }
+
+    DeviceLivenessMonitor(
+            IotDeviceRepository deviceRepository,
+            DeviceTelemetryWriter telemetryWriter,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            Duration timeout,
+            LongSupplier clock) {
+        this.deviceRepository = deviceRepository;
+        this.telemetryWriter = telemetryWriter;
+        this.eventPublisher = eventPublisher;
+        this.timeoutMillis = timeout.toMillis();
+        this.clock = clock;
+
+        Gauge.builder("edge.liveness.tracked", this, DeviceLivenessMonitor::trackedCount)
+                .description("ONLINE devices watched for missed check-ins")
+                .register(meterRegistry);
+        this.offlineCounter = meterRegistry.counter("edge.liveness.offline");
+    }
+
+    /**
+     * Seed the deadlines from the ONLINE devices in the database (the only full read)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnlineDevices() {
+        List<DeviceCheckIn> online = deviceRepository.findCheckInsByStatus(DeviceStatus.ONLINE);
+        synchronized (this) {
+            online.forEach(checkIn -> track(checkIn.serialNumber(), checkIn.lastCheckIn()));
+        }
+        log.info("Watching liveness of {} online devices (timeout {} ms)", online.size(), timeoutMillis);
+    }
+
+    @EventListener
+    public void onTelemetryApplied(DeviceTelemetryAppliedEvent event) {
+        synchronized (this) {
+            for (DeviceTelemetryUpdate update : event.updates()) {
+                // Without a reported status the device is ONLINE unless in MAINTENANCE or ERROR;
+                // tracking one of those is harmless, markOffline only changes ONLINE rows
+                if (update.status() == null || update.status() == DeviceStatus.ONLINE) {
+                    track(update.serialNumber(), update.lastCheckIn());
+                } else {
+                    tracked.remove(update.serialNumber());
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        synchronized (this) {
+            tracked.remove(event.serialNumber());
+        }
+    }
+
+    /**
+     * Mark OFFLINE every tracked device whose last check-in is older than the timeout
+     *
+     * @return number of devices found dead
+     */
+    @Scheduled(fixedDelayString = "${edge.liveness.check-interval-ms:10000}")
+    public int sweep() {
+        long now = clock.getAsLong();
+        List<DeviceTelemetryUpdate> expired = new ArrayList<>();
+
+        synchronized (this) {
+            while (!deadlines.isEmpty() && deadlines.peek().dueAt() <= now) {
+                Deadline deadline = deadlines.poll();
+                Tracked device = tracked.get(deadline.serialNumber());
+                if (device == null || device.generation != deadline.generation()) {
+                    continue; // Untracked since it was queued
+                }
+                long dueAt = device.lastCheckIn + timeoutMillis;
+                if (dueAt > now) {
+                    deadlines.add(new Deadline(dueAt, deadline.serialNumber(), device.generation));
+                    continue;
+                }
+                tracked.remove(deadline.serialNumber());
+                expired.add(new DeviceTelemetryUpdate(deadline.serialNumber(), null, DeviceStatus.OFFLINE,
+                        Instant.ofEpochMilli(device.lastCheckIn)));
+            }
+        }
+
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<String> serialNumbers = expired.stream().map(DeviceTelemetryUpdate::serialNumber).toList();
+        Set<String> marked;
+        try {
+            // The write re-checks status and last_check_in, so a report persisted meanwhile is never
+            // overridden; only the devices it actually changed are published
+            marked = new HashSet<>(telemetryWriter.markOffline(serialNumbers, Instant.ofEpochMilli(now - timeoutMillis)));
+        } catch (Exception e) {
+            log.error("Failed to mark {} devices OFFLINE, retrying on next sweep: {}", expired.size(), e.getMessage());
+            synchronized (this) {
+                expired.forEach(update -> track(update.serialNumber(), update.lastCheckIn()));
+            }
+            return 0;
+        }
+
+        offlineCounter.increment(marked.size());
+        if (marked.isEmpty()) {
+            return 0;
+        }
+        log.info("Marked {} devices OFFLINE after {} ms without check-in", marked.size(), timeoutMillis);
+        eventPublisher.publishEvent(new DeviceTelemetryAppliedEvent(expired.stream()
+                .filter(update -> marked.contains(update.serialNumber()))
+                .toList()));
+        return marked.size();
+    }
+
+    public synchronized int trackedCount() {
+        return tracked.size();
+    }
+
+    /**
+     * Caller must hold the monitor lock
+     */
+    private void track(String serialNumber, Instant checkIn) {
+        long checkInMillis = checkIn.toEpochMilli();
+        Tracked device = tracked.get(serialNumber);
+        if (device != null) {
+            device.lastCheckIn = Math.max(device.lastCheckIn, checkInMillis);
+            return;
+        }
+        Tracked fresh = new Tracked(checkInMillis, ++generations);
+        tracked.put(serialNumber, fresh);
+        deadlines.add(new Deadline(checkInMillis + timeoutMillis, serialNumber, fresh.generation));
+    }
+
+    private static final class Tracked {
+
+        private long lastCheckIn;
+        private final long generation;
+
+        private Tracked(long lastCheckIn, long generation) {
+            this.lastCheckIn = lastCheckIn;
+            this.generation = generation;
+        }
+    }
+
+    private record Deadline(long dueAt, String serialNumber, long generation) implements Comparable<Deadline> {
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(dueAt, other.dueAt);
+        }
+    }
+}
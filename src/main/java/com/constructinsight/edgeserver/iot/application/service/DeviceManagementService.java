@@ -1,9 +1,11 @@
 package com.constructinsight.edgeserver.iot.application.service;
 
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
 import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeviceManagementService {
 
     private final IotDeviceRepository deviceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Delete a device permanently by its serial number
@@ -29,12 +32,13 @@ public class DeviceManagementService {
         log.info("Attempting to delete device with serial number: {}", serialNumber);
 
         // Verify device exists before attempting deletion
-        IotDevice device = deviceRepository.findBySerialNumber(serialNumber)
+        IotDevice device = deviceRepository.findForUpdate(serialNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Device not found: " + serialNumber));
 
         log.info("Device found: {} (ID: {}). Proceeding with deletion.", serialNumber, device.getId());
 
         deviceRepository.deleteBySerialNumber(serialNumber);
+        eventPublisher.publishEvent(new DeviceRemovedEvent(serialNumber, device.getOwnerId()));
 
         log.info("Device {} successfully deleted from database", serialNumber);
     }
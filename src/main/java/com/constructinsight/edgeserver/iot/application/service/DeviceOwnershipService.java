@@ -1,9 +1,11 @@
 package com.constructinsight.edgeserver.iot.application.service;
 
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
 import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeviceOwnershipService {
 
     private final IotDeviceRepository deviceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Bind a device to a user (establish ownership)
@@ -29,15 +32,18 @@ public class DeviceOwnershipService {
     public IotDevice bindDevice(String serialNumber, String userId) {
         log.info("Binding device {} to user {}", serialNumber, userId);
 
-        IotDevice device = deviceRepository.findBySerialNumber(serialNumber)
+        IotDevice device = deviceRepository.findForUpdate(serialNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Device not found: " + serialNumber));
 
         if (device.isBound() && !device.isBoundToUser(userId)) {
             throw new IllegalStateException("Device is already bound to another user");
         }
 
+        String previousOwnerId = device.getOwnerId();
         device.bind(userId);
         IotDevice savedDevice = deviceRepository.save(device);
+        eventPublisher.publishEvent(new DeviceOwnershipChangedEvent(
+                serialNumber, previousOwnerId, userId, savedDevice.getStatus(), savedDevice.getBattery()));
 
         log.info("Device {} successfully bound to user {}", serialNumber, userId);
         return savedDevice;
@@ -56,7 +62,7 @@ public class DeviceOwnershipService {
     public IotDevice unbindDevice(String serialNumber, String userId) {
         log.info("Unbinding device {} from user {}", serialNumber, userId);
 
-        IotDevice device = deviceRepository.findBySerialNumber(serialNumber)
+        IotDevice device = deviceRepository.findForUpdate(serialNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Device not found: " + serialNumber));
 
         // PRIVACY CHECK: Only the owner can unbind
@@ -66,6 +72,8 @@ public class DeviceOwnershipService {
 
         device.unbind();
         IotDevice savedDevice = deviceRepository.save(device);
+        eventPublisher.publishEvent(new DeviceOwnershipChangedEvent(
+                serialNumber, userId, null, savedDevice.getStatus(), savedDevice.getBattery()));
 
         log.info("Device {} successfully unbound from user {}", serialNumber, userId);
         return savedDevice;
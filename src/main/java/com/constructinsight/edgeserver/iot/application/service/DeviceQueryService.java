@@ -1,14 +1,19 @@
 package com.constructinsight.edgeserver.iot.application.service;
 
 import com.constructinsight.edgeserver.iot.application.dto.DeviceKpiDto;
+import com.constructinsight.edgeserver.iot.application.dto.DevicePage;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
 import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
-import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
 import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,26 +26,101 @@ import java.util.List;
 public class DeviceQueryService {
 
     private final IotDeviceRepository deviceRepository;
-    private static final int LOW_BATTERY_THRESHOLD = 20;
+    private final OwnerKpiTracker kpiTracker;
+
+    @Value("${edge.devices.page.default-limit:500}")
+    private int defaultPageLimit;
+
+    @Value("${edge.devices.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    /**
+     * Keyset-paginated listing of a user's devices
+     * PRIVACY: Only returns devices owned by criteria.ownerId
+     * Each page is a single index range scan (ownerId, id > cursor) projected to views,
+     * so cost does not grow with the page number and no entity is loaded. Status and battery
+     * filters narrow the scan through the (ownerId, status, battery) index.
+     * Without cursor and limit every matching device is returned (as before pagination),
+     * read in max-limit pages so no single query is unbounded.
+     *
+     * @param criteria Owner and optional filters
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Page size, or null for the default; capped at the configured maximum
+     * @return Page of devices and the cursor of the next page (null when nothing is left)
+     * @throws IllegalArgumentException if the cursor or limit are invalid
+     */
+    @Transactional(readOnly = true)
+    public DevicePage findPageByUser(DeviceSearchCriteria criteria, String cursor, Integer limit) {
+        if (cursor == null && limit == null) {
+            return new DevicePage(findAllPages(criteria), null);
+        }
+
+        long afterId = decodeCursor(cursor);
+        int pageSize = limit != null ? limit : defaultPageLimit;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+        pageSize = Math.min(pageSize, maxPageLimit);
+
+        // One extra row tells whether there is a next page without a COUNT query
+        List<DeviceView> rows = deviceRepository.findPageByOwner(criteria, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new DevicePage(rows, null);
+        }
+
+        List<DeviceView> page = rows.subList(0, pageSize);
+        return new DevicePage(List.copyOf(page), String.valueOf(page.get(pageSize - 1).id()));
+    }
+
+    private List<DeviceView> findAllPages(DeviceSearchCriteria criteria) {
+        List<DeviceView> devices = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<DeviceView> rows = deviceRepository.findPageByOwner(criteria, afterId, maxPageLimit);
+            devices.addAll(rows);
+            if (rows.size() < maxPageLimit) {
+                return devices;
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+    }
 
     /**
-     * CRITICAL: Find all devices owned by a specific user
-     * This is the primary privacy filter - only returns user's devices
+     * A user's devices installed in a parking (index lookup on parkingId, ownerId, status)
+     * PRIVACY: Only returns devices owned by userId
      *
      * @param userId User identifier
-     * @return List of devices owned by the user
+     * @param parkingId Parking identifier
+     * @param status Only devices in this status, or null for any
+     * @throws IllegalArgumentException if the user or parking ID is blank
      */
     @Transactional(readOnly = true)
-    public List<IotDevice> findAllByUser(String userId) {
-        log.debug("Querying devices for user: {}", userId);
-        List<IotDevice> devices = deviceRepository.findAllByOwnerId(userId);
-        log.debug("Found {} devices for user {}", devices.size(), userId);
-        return devices;
+    public List<DeviceView> findByParking(String userId, String parkingId, DeviceStatus status) {
+        requireId(userId, "User ID");
+        requireId(parkingId, "Parking ID");
+        return deviceRepository.findByParking(userId, parkingId, status);
+    }
+
+    /**
+     * A user's devices installed on a spot of a parking (index lookup on parkingId, parkingSpotId)
+     * PRIVACY: Only returns devices owned by userId
+     *
+     * @throws IllegalArgumentException if the user, parking or spot ID is blank
+     */
+    @Transactional(readOnly = true)
+    public List<DeviceView> findByParkingSpot(String userId, String parkingId, String parkingSpotId) {
+        requireId(userId, "User ID");
+        requireId(parkingId, "Parking ID");
+        requireId(parkingSpotId, "Spot ID");
+        return deviceRepository.findByParkingSpot(userId, parkingId, parkingSpotId);
     }
 
     /**
      * Calculate KPIs for a specific user's devices
      * PRIVACY: Only calculates stats for devices owned by userId
+     * Served from the in-memory counters once they are initialized; until then the
+     * database aggregates them in a single query answered from the (ownerId, status, battery)
+     * index alone (no device entity and no table row is read).
      *
      * @param userId User identifier
      * @return KPI statistics
@@ -49,43 +129,36 @@ public class DeviceQueryService {
     public DeviceKpiDto getKpis(String userId) {
         log.debug("Calculating KPIs for user: {}", userId);
 
-        List<IotDevice> userDevices = deviceRepository.findAllByOwnerId(userId);
-
-        if (userDevices.isEmpty()) {
-            return DeviceKpiDto.builder()
-                    .totalDevices(0)
-                    .onlineDevices(0)
-                    .offlineDevices(0)
-                    .averageBattery(0.0)
-                    .lowBatteryDevices(0)
-                    .build();
-        }
-
-        long totalDevices = userDevices.size();
-        long onlineDevices = userDevices.stream()
-                .filter(d -> d.getStatus() == DeviceStatus.ONLINE)
-                .count();
-        long offlineDevices = userDevices.stream()
-                .filter(d -> d.getStatus() == DeviceStatus.OFFLINE)
-                .count();
-        double averageBattery = userDevices.stream()
-                .mapToInt(IotDevice::getBattery)
-                .average()
-                .orElse(0.0);
-        long lowBatteryDevices = userDevices.stream()
-                .filter(d -> d.getBattery() < LOW_BATTERY_THRESHOLD)
-                .count();
+        DeviceKpiSnapshot snapshot = kpiTracker.snapshot(userId)
+                .orElseGet(() -> deviceRepository.aggregateKpisByOwnerId(
+                        userId, DeviceKpiSnapshot.LOW_BATTERY_THRESHOLD));
 
         DeviceKpiDto kpis = DeviceKpiDto.builder()
-                .totalDevices(totalDevices)
-                .onlineDevices(onlineDevices)
-                .offlineDevices(offlineDevices)
-                .averageBattery(Math.round(averageBattery * 100.0) / 100.0)
-                .lowBatteryDevices(lowBatteryDevices)
+                .totalDevices(snapshot.totalDevices())
+                .onlineDevices(snapshot.onlineDevices())
+                .offlineDevices(snapshot.offlineDevices())
+                .averageBattery(Math.round(snapshot.averageBattery() * 100.0) / 100.0)
+                .lowBatteryDevices(snapshot.lowBatteryDevices())
                 .build();
 
         log.debug("KPIs for user {}: {}", userId, kpis);
         return kpis;
     }
-}
 
+    private static void requireId(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " cannot be null or empty");
+        }
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
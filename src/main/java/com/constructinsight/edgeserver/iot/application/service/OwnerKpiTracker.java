@@ -0,0 +1,216 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application Service: Incrementally maintained KPI counters per owner
+ * Tracks the status/battery of every bound device and keeps per-owner totals up to
+ * date from domain events, so dashboard KPIs are read in O(1) without touching the DB.
+ *
+ * Each device is updated atomically through its map entry; owner totals are
+ * {@link LongAdder}s so concurrent telemetry for the same owner does not contend.
+ * A periodic reconciliation against the database corrects any drift (missed events,
+ * writes made outside this process).
+ */
+@Service
+@Slf4j
+public class OwnerKpiTracker {
+
+    private final IotDeviceRepository deviceRepository;
+
+    private final ConcurrentHashMap<String, TrackedDevice> devices = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OwnerCounters> owners = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private volatile boolean ready;
+
+    private final Counter driftCounter;
+
+    public OwnerKpiTracker(IotDeviceRepository deviceRepository, MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+
+        Gauge.builder("edge.kpi.tracked", devices, ConcurrentHashMap::size)
+                .description("Bound devices tracked by the KPI counters")
+                .register(meterRegistry);
+        this.driftCounter = meterRegistry.counter("edge.kpi.drift");
+    }
+
+    /**
+     * KPI counters of an owner, or empty while the counters are not initialized yet
+     */
+    public Optional<DeviceKpiSnapshot> snapshot(String ownerId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        OwnerCounters counters = owners.get(ownerId);
+        return Optional.of(counters != null ? counters.snapshot() : DeviceKpiSnapshot.EMPTY);
+    }
+
+    /**
+     * Current owner of a bound device, as known by the counters
+     */
+    public Optional<String> ownerOf(String serialNumber) {
+        TrackedDevice device = devices.get(serialNumber);
+        return device != null ? Optional.of(device.ownerId()) : Optional.empty();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOwnershipChanged(DeviceOwnershipChangedEvent event) {
+        if (event.ownerId() == null) {
+            remove(event.serialNumber());
+            return;
+        }
+        long version = clock.incrementAndGet();
+        devices.compute(event.serialNumber(), (serial, current) -> replace(current,
+                new TrackedDevice(event.ownerId(), event.status(), batteryOf(event.battery()), version)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        remove(event.serialNumber());
+    }
+
+    @EventListener
+    public void onTelemetryApplied(DeviceTelemetryAppliedEvent event) {
+        for (DeviceTelemetryUpdate update : event.updates()) {
+            // Unbound devices are not tracked: nothing to do for them
+            devices.computeIfPresent(update.serialNumber(), (serial, current) -> {
+                DeviceStatus status = update.status() != null ? update.status() : current.status().afterCheckIn();
+                int battery = update.battery() != null ? update.battery() : current.battery();
+                if (status == current.status() && battery == current.battery()) {
+                    return current;
+                }
+                return replace(current, new TrackedDevice(current.ownerId(), status, battery, clock.incrementAndGet()));
+            });
+        }
+    }
+
+    /**
+     * Rebuild the counters from the database.
+     * Devices changed by an event after the snapshot was read are left untouched,
+     * since their in-memory state is newer than the database row that was read.
+     */
+    @Scheduled(initialDelayString = "${edge.kpi.reconcile-initial-delay-ms:0}",
+               fixedDelayString = "${edge.kpi.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long since = clock.get();
+        List<OwnedDeviceState> states;
+        try {
+            states = deviceRepository.findOwnedDeviceStates();
+        } catch (Exception e) {
+            log.error("KPI reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        long[] drift = {0};
+        Set<String> seen = new HashSet<>(states.size());
+        for (OwnedDeviceState state : states) {
+            seen.add(state.serialNumber());
+            TrackedDevice fresh = new TrackedDevice(state.ownerId(), state.status(), batteryOf(state.battery()), since);
+            devices.compute(state.serialNumber(), (serial, current) -> {
+                if (current != null && (current.version() > since || current.sameStateAs(fresh))) {
+                    return current;
+                }
+                drift[0]++;
+                return replace(current, fresh);
+            });
+        }
+        for (String serialNumber : devices.keySet()) {
+            if (!seen.contains(serialNumber)) {
+                devices.computeIfPresent(serialNumber, (serial, current) -> {
+                    if (current.version() > since) {
+                        return current;
+                    }
+                    drift[0]++;
+                    apply(current, -1);
+                    return null;
+                });
+            }
+        }
+
+        driftCounter.increment(ready ? drift[0] : 0);
+        if (ready && drift[0] > 0) {
+            log.warn("KPI reconciliation corrected {} devices", drift[0]);
+        }
+        ready = true;
+        log.debug("KPI counters reconciled: {} bound devices across {} owners", devices.size(), owners.size());
+    }
+
+    private void remove(String serialNumber) {
+        devices.computeIfPresent(serialNumber, (serial, current) -> {
+            apply(current, -1);
+            return null;
+        });
+    }
+
+    private TrackedDevice replace(TrackedDevice current, TrackedDevice next) {
+        if (current != null) {
+            apply(current, -1);
+        }
+        apply(next, 1);
+        return next;
+    }
+
+    private void apply(TrackedDevice device, int sign) {
+        OwnerCounters counters = owners.computeIfAbsent(device.ownerId(), owner -> new OwnerCounters());
+        counters.total.add(sign);
+        if (device.status() == DeviceStatus.ONLINE) {
+            counters.online.add(sign);
+        } else if (device.status() == DeviceStatus.OFFLINE) {
+            counters.offline.add(sign);
+        }
+        if (device.battery() < DeviceKpiSnapshot.LOW_BATTERY_THRESHOLD) {
+            counters.lowBattery.add(sign);
+        }
+        counters.batterySum.add((long) sign * device.battery());
+    }
+
+    private static int batteryOf(Integer battery) {
+        return battery != null ? battery : 0;
+    }
+
+    private record TrackedDevice(String ownerId, DeviceStatus status, int battery, long version) {
+
+        boolean sameStateAs(TrackedDevice other) {
+            return ownerId.equals(other.ownerId) && status == other.status && battery == other.battery;
+        }
+    }
+
+    private static final class OwnerCounters {
+        final LongAdder total = new LongAdder();
+        final LongAdder online = new LongAdder();
+        final LongAdder offline = new LongAdder();
+        final LongAdder lowBattery = new LongAdder();
+        final LongAdder batterySum = new LongAdder();
+
+        DeviceKpiSnapshot snapshot() {
+            return new DeviceKpiSnapshot(total.sum(), online.sum(), offline.sum(), lowBattery.sum(), batterySum.sum());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.ParkingOccupancyDto;
+import com.constructinsight.edgeserver.iot.application.dto.SpotOccupancyDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory occupancy of the spots of one parking
+ * Each spot gets a slot index; state is kept in bitsets (installed, reported, occupied)
+ * and per-slot arrays, with counters maintained on every change so free/occupied
+ * totals are O(1).
+ *
+ * Utilization is integrated over time into a ring of fixed-size buckets (occupied
+ * spot-time and reported spot-time), so any window up to the ring length is the sum
+ * of its buckets. Not thread-safe on its own: every method is synchronized.
+ */
+final class ParkingOccupancy {
+
+    private final String parkingId;
+    private final long bucketMillis;
+
+    private final Map<String, Integer> slotBySpot = new HashMap<>();
+    private String[] spotIds = new String[16];
+    private String[] serialNumbers = new String[16];
+    private long[] occupiedSince = new long[16];
+    private long[] sessions = new long[16];
+    private long[] dwellTotalMillis = new long[16];
+
+    private final BitSet installed = new BitSet();
+    private final BitSet reported = new BitSet();
+    private final BitSet occupied = new BitSet();
+    private int installedCount;
+    private int reportedCount;
+    private int occupiedCount;
+
+    // Ring of utilization buckets; bucketEpoch tells which bucket a slot currently holds
+    private final long[] bucketEpoch;
+    private final long[] occupiedMillis;
+    private final long[] reportedMillis;
+    private long integratedUntil;
+
+    ParkingOccupancy(String parkingId, Duration bucket, Duration maxWindow, long now) {
+        this.parkingId = parkingId;
+        this.bucketMillis = bucket.toMillis();
+        int ring = (int) Math.max(1, maxWindow.toMillis() / bucketMillis);
+        this.bucketEpoch = new long[ring];
+        this.occupiedMillis = new long[ring];
+        this.reportedMillis = new long[ring];
+        Arrays.fill(bucketEpoch, Long.MIN_VALUE);
+        this.integratedUntil = now;
+    }
+
+    /**
+     * Install a sensor on a spot
+     *
+     * @return slot of the spot
+     */
+    synchronized int install(String spotId, String serialNumber, long now) {
+        integrate(now);
+        Integer existing = slotBySpot.get(spotId);
+        int slot = existing != null ? existing : allocate(spotId);
+        if (!installed.get(slot)) {
+            installed.set(slot);
+            installedCount++;
+        }
+        serialNumbers[slot] = serialNumber;
+        return slot;
+    }
+
+    /**
+     * Remove the sensor of a slot; its occupancy becomes unknown
+     */
+    synchronized void uninstall(int slot, String serialNumber, long now) {
+        if (!installed.get(slot) || !serialNumber.equals(serialNumbers[slot])) {
+            return; // Another sensor took over the spot meanwhile
+        }
+        integrate(now);
+        if (occupied.get(slot)) {
+            occupied.clear(slot);
+            occupiedCount--;
+        }
+        if (reported.get(slot)) {
+            reported.clear(slot);
+            reportedCount--;
+        }
+        installed.clear(slot);
+        installedCount--;
+        serialNumbers[slot] = null;
+    }
+
+    /**
+     * Apply an occupancy report of the sensor on a slot
+     */
+    synchronized void report(int slot, String serialNumber, boolean isOccupied, long at) {
+        if (!installed.get(slot) || !serialNumber.equals(serialNumbers[slot])) {
+            return;
+        }
+        integrate(at);
+        if (!reported.get(slot)) {
+            reported.set(slot);
+            reportedCount++;
+        }
+        if (isOccupied && !occupied.get(slot)) {
+            occupied.set(slot);
+            occupiedCount++;
+            occupiedSince[slot] = at;
+        } else if (!isOccupied && occupied.get(slot)) {
+            occupied.clear(slot);
+            occupiedCount--;
+            sessions[slot]++;
+            dwellTotalMillis[slot] += Math.max(0, at - occupiedSince[slot]);
+        }
+    }
+
+    synchronized int freeCount() {
+        return reportedCount - occupiedCount;
+    }
+
+    synchronized ParkingOccupancyDto snapshot(List<Duration> windows, long now) {
+        integrate(now);
+        List<ParkingOccupancyDto.Utilization> utilization = new ArrayList<>(windows.size());
+        for (Duration window : windows) {
+            utilization.add(new ParkingOccupancyDto.Utilization(window, utilization(window, now)));
+        }
+        return new ParkingOccupancyDto(parkingId, installedCount, reportedCount, occupiedCount,
+                reportedCount - occupiedCount, installedCount - reportedCount, utilization);
+    }
+
+    synchronized List<SpotOccupancyDto> spots(boolean onlyFree, long now) {
+        BitSet selected = (BitSet) installed.clone();
+        if (onlyFree) {
+            selected.and(reported);
+            selected.andNot(occupied);
+        }
+        List<SpotOccupancyDto> spots = new ArrayList<>(selected.cardinality());
+        for (int slot = selected.nextSetBit(0); slot >= 0; slot = selected.nextSetBit(slot + 1)) {
+            boolean isOccupied = occupied.get(slot);
+            spots.add(new SpotOccupancyDto(
+                    spotIds[slot],
+                    reported.get(slot) ? isOccupied : null,
+                    isOccupied ? Instant.ofEpochMilli(occupiedSince[slot]) : null,
+                    isOccupied ? Duration.ofMillis(Math.max(0, now - occupiedSince[slot])) : null,
+                    sessions[slot] > 0 ? Duration.ofMillis(dwellTotalMillis[slot] / sessions[slot]) : null,
+                    sessions[slot]));
+        }
+        return spots;
+    }
+
+    /**
+     * Share of reported spot-time that was occupied within the window, or null if nothing was reported
+     */
+    private Double utilization(Duration window, long now) {
+        long newest = Math.floorDiv(now, bucketMillis);
+        long count = Math.min(bucketEpoch.length, Math.max(1, window.toMillis() / bucketMillis));
+        long occupiedSum = 0;
+        long reportedSum = 0;
+        for (long bucket = newest - count + 1; bucket <= newest; bucket++) {
+            int index = (int) Math.floorMod(bucket, (long) bucketEpoch.length);
+            if (bucketEpoch[index] == bucket) {
+                occupiedSum += occupiedMillis[index];
+                reportedSum += reportedMillis[index];
+            }
+        }
+        return reportedSum > 0 ? (double) occupiedSum / reportedSum : null;
+    }
+
+    /**
+     * Add the current counts, held since the last change, to the buckets up to {@code now}.
+     * Reports older than the last change are applied as of the last change.
+     */
+    private void integrate(long now) {
+        if (now <= integratedUntil) {
+            return;
+        }
+        // Time older than the ring falls out of every window anyway
+        long t = Math.max(integratedUntil, now - (long) bucketEpoch.length * bucketMillis);
+        while (t < now) {
+            long bucket = Math.floorDiv(t, bucketMillis);
+            int index = (int) Math.floorMod(bucket, (long) bucketEpoch.length);
+            if (bucketEpoch[index] != bucket) {
+                bucketEpoch[index] = bucket;
+                occupiedMillis[index] = 0;
+                reportedMillis[index] = 0;
+            }
+            long end = Math.min(now, (bucket + 1) * bucketMillis);
+            occupiedMillis[index] += occupiedCount * (end - t);
+            reportedMillis[index] += reportedCount * (end - t);
+            t = end;
+        }
+        integratedUntil = now;
+    }
+
+    private int allocate(String spotId) {
+        int slot = slotBySpot.size();
+        if (slot == spotIds.length) {
+            int capacity = slot * 2;
+            spotIds = Arrays.copyOf(spotIds, capacity);
+            serialNumbers = Arrays.copyOf(serialNumbers, capacity);
+            occupiedSince = Arrays.copyOf(occupiedSince, capacity);
+            sessions = Arrays.copyOf(sessions, capacity);
+            dwellTotalMillis = Arrays.copyOf(dwellTotalMillis, capacity);
+        }
+        spotIds[slot] = spotId;
+        slotBySpot.put(spotId, slot);
+        return slot;
+    }
+}
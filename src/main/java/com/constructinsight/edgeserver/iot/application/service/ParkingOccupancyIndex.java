@@ -0,0 +1,189 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.ParkingOccupancyDto;
+import com.constructinsight.edgeserver.iot.application.dto.SpotOccupancyDto;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOccupancyChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Application Service: In-memory occupancy index per parking and spot
+ * Maps each parking to a {@link ParkingOccupancy} (bitsets of its spots) and each
+ * sensor to its slot, so queries never touch the database: free spots of a parking
+ * are a counter read, spot listings a bitset scan.
+ *
+ * Fed incrementally by {@link DeviceOccupancyChangedEvent}s from ingestion. Sensor
+ * placements (parking/spot) are loaded from the database at startup and re-read every
+ * {@code edge.occupancy.refresh-interval-ms}; unbinding or deleting a device removes it
+ * right away. Occupancy is only known once a sensor reports after startup.
+ */
+@Service
+@Slf4j
+public class ParkingOccupancyIndex {
+
+    private final IotDeviceRepository deviceRepository;
+    private final List<Duration> windows;
+    private final Duration bucket;
+    private final Duration maxWindow;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, ParkingOccupancy> parkings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Placement> placements = new ConcurrentHashMap<>();
+
+    private final Counter unplacedCounter;
+
+    @Autowired
+    public ParkingOccupancyIndex(
+            IotDeviceRepository deviceRepository,
+            MeterRegistry meterRegistry,
+            @Value("${edge.occupancy.windows:PT15M,PT1H,PT24H}") List<Duration> windows,
+            @Value("${edge.occupancy.bucket:PT1M}") Duration bucket) {
+        this(deviceRepository, meterRegistry, windows, bucket, System::currentTimeMillis);
+    }
+
+    ParkingOccupancyIndex(
+            IotDeviceRepository deviceRepository,
+            MeterRegistry meterRegistry,
+            List<Duration> windows,
+            Duration bucket,
+            LongSupplier clock) {
+        if (windows.isEmpty() || bucket.isZero() || bucket.isNegative()) {
+            throw new IllegalArgumentException("At least one window and a positive bucket are required");
+        }
+        this.deviceRepository = deviceRepository;
+        this.windows = List.copyOf(windows);
+        this.bucket = bucket;
+        this.maxWindow = windows.stream().max(Comparator.naturalOrder()).orElseThrow();
+        this.clock = clock;
+
+        Gauge.builder("edge.occupancy.parkings", parkings, ConcurrentHashMap::size)
+                .description("Parkings in the occupancy index")
+                .register(meterRegistry);
+        Gauge.builder("edge.occupancy.spots", placements, ConcurrentHashMap::size)
+                .description("Sensors placed on a spot in the occupancy index")
+                .register(meterRegistry);
+        this.unplacedCounter = meterRegistry.counter("edge.occupancy.unplaced");
+    }
+
+    /**
+     * Reconcile sensor placements with the database (also the initial load)
+     */
+    @Scheduled(initialDelayString = "${edge.occupancy.refresh-initial-delay-ms:0}",
+               fixedDelayString = "${edge.occupancy.refresh-interval-ms:60000}")
+    public synchronized void refreshPlacements() {
+        List<SpotPlacement> rows = deviceRepository.findSpotPlacements();
+        Set<String> seen = new HashSet<>(rows.size());
+        for (SpotPlacement row : rows) {
+            seen.add(row.serialNumber());
+            place(row);
+        }
+        placements.keySet().stream()
+                .filter(serialNumber -> !seen.contains(serialNumber))
+                .toList()
+                .forEach(this::unplace);
+        log.debug("Occupancy index holds {} sensors in {} parkings", placements.size(), parkings.size());
+    }
+
+    @EventListener
+    public void onOccupancyChanged(DeviceOccupancyChangedEvent event) {
+        Placement placement = placements.get(event.serialNumber());
+        if (placement == null) {
+            unplacedCounter.increment();
+            return;
+        }
+        placement.parking().report(placement.slot(), event.serialNumber(), event.occupied(),
+                event.occurredAt().toEpochMilli());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOwnershipChanged(DeviceOwnershipChangedEvent event) {
+        // Unbinding clears the parking and spot of the device
+        if (event.ownerId() == null) {
+            unplace(event.serialNumber());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRemoved(DeviceRemovedEvent event) {
+        unplace(event.serialNumber());
+    }
+
+    /**
+     * Occupancy counters and sliding-window utilization of a parking
+     */
+    public Optional<ParkingOccupancyDto> parking(String parkingId) {
+        ParkingOccupancy parking = parkings.get(parkingId);
+        return parking != null ? Optional.of(parking.snapshot(windows, clock.getAsLong())) : Optional.empty();
+    }
+
+    /**
+     * Spots of a parking with their occupancy and dwell times
+     *
+     * @param onlyFree Only spots reported free
+     */
+    public Optional<List<SpotOccupancyDto>> spots(String parkingId, boolean onlyFree) {
+        ParkingOccupancy parking = parkings.get(parkingId);
+        return parking != null ? Optional.of(parking.spots(onlyFree, clock.getAsLong())) : Optional.empty();
+    }
+
+    /**
+     * Free spots of a parking (O(1)), or empty if the parking is unknown
+     */
+    public Optional<Integer> freeSpots(String parkingId) {
+        ParkingOccupancy parking = parkings.get(parkingId);
+        return parking != null ? Optional.of(parking.freeCount()) : Optional.empty();
+    }
+
+    /**
+     * Caller must hold the index lock
+     */
+    private void place(SpotPlacement row) {
+        Placement current = placements.get(row.serialNumber());
+        if (current != null && current.parkingId().equals(row.parkingId())
+                && current.parkingSpotId().equals(row.parkingSpotId())) {
+            return;
+        }
+        if (current != null) {
+            unplace(row.serialNumber());
+        }
+        long now = clock.getAsLong();
+        ParkingOccupancy parking = parkings.computeIfAbsent(row.parkingId(),
+                parkingId -> new ParkingOccupancy(parkingId, bucket, maxWindow, now));
+        int slot = parking.install(row.parkingSpotId(), row.serialNumber(), now);
+        placements.put(row.serialNumber(), new Placement(row.parkingId(), row.parkingSpotId(), parking, slot));
+    }
+
+    /**
+     * Caller must hold the index lock
+     */
+    private void unplace(String serialNumber) {
+        Placement placement = placements.remove(serialNumber);
+        if (placement != null) {
+            placement.parking().uninstall(placement.slot(), serialNumber, clock.getAsLong());
+        }
+    }
+
+    private record Placement(String parkingId, String parkingSpotId, ParkingOccupancy parking, int slot) {
+    }
+}
@@ -0,0 +1,300 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthReport;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryHistory;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryHistoryPoint;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryRollup;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetrySample;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import com.constructinsight.edgeserver.iot.domain.port.TelemetryHistoryStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application Service: Telemetry history with downsampling
+ * Every applied report is kept as a raw sample and folded into 1m/1h/1d rollups.
+ *
+ * Ingestion only offers samples to a bounded in-memory queue (never blocking a lane;
+ * samples are dropped and counted when it is full). A scheduled flush writes them in
+ * batches together with the rollup deltas of the batch, pre-aggregated in memory so each
+ * bucket costs one upsert per flush instead of one per report.
+ *
+ * Each resolution has its own retention, enforced by bounded deletes. Range queries pick
+ * the finest resolution that is still retained for the range and fits the point budget.
+ */
+@Service
+@Slf4j
+public class TelemetryHistoryService {
+
+    private static final int RETENTION_DELETE_CHUNK = 10_000;
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+    private static final List<TelemetryResolution> ROLLUPS =
+            List.of(TelemetryResolution.MINUTE, TelemetryResolution.HOUR, TelemetryResolution.DAY);
+
+    private final TelemetryHistoryStore store;
+    private final IotDeviceRepository deviceRepository;
+    private final BlockingQueue<TelemetrySample> pending;
+    private final int batchSize;
+    private final int maxPoints;
+    private final Duration rawMaxRange;
+    private final Map<TelemetryResolution, Duration> retention = new EnumMap<>(TelemetryResolution.class);
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter purgedCounter;
+    private final Timer flushTimer;
+
+    public TelemetryHistoryService(
+            TelemetryHistoryStore store,
+            IotDeviceRepository deviceRepository,
+            MeterRegistry meterRegistry,
+            @Value("${edge.history.buffer-capacity:100000}") int bufferCapacity,
+            @Value("${edge.history.batch-size:1000}") int batchSize,
+            @Value("${edge.history.query.max-points:1000}") int maxPoints,
+            @Value("${edge.history.query.raw-max-range:PT1H}") Duration rawMaxRange,
+            @Value("${edge.history.retention.raw:P2D}") Duration rawRetention,
+            @Value("${edge.history.retention.minute:P14D}") Duration minuteRetention,
+            @Value("${edge.history.retention.hour:P90D}") Duration hourRetention,
+            @Value("${edge.history.retention.day:P730D}") Duration dayRetention) {
+        this.store = store;
+        this.deviceRepository = deviceRepository;
+        this.pending = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.maxPoints = maxPoints;
+        this.rawMaxRange = rawMaxRange;
+        retention.put(TelemetryResolution.RAW, rawRetention);
+        retention.put(TelemetryResolution.MINUTE, minuteRetention);
+        retention.put(TelemetryResolution.HOUR, hourRetention);
+        retention.put(TelemetryResolution.DAY, dayRetention);
+
+        Gauge.builder("edge.history.pending", pending, BlockingQueue::size)
+                .description("Telemetry samples waiting to be written to the history")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("edge.history.written");
+        this.droppedCounter = meterRegistry.counter("edge.history.dropped");
+        this.failedCounter = meterRegistry.counter("edge.history.write.failed");
+        this.purgedCounter = meterRegistry.counter("edge.history.purged");
+        this.flushTimer = Timer.builder("edge.history.flush")
+                .description("Time to write one batch of samples and rollups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an applied report for the history without blocking
+     *
+     * @param report    Applied report
+     * @param sampledAt Time the report was taken (its checkedAt, or arrival time)
+     * @return false if the queue was full and the sample was dropped
+     */
+    public boolean record(TelemetryReportCommand report, Instant sampledAt) {
+        DeviceHealthReport health = report.health();
+        TelemetrySample sample = new TelemetrySample(
+                report.serialNumber(),
+                sampledAt,
+                report.battery(),
+                report.status(),
+                report.occupied(),
+                health != null ? health.failuresSinceLastCheckup() : null,
+                health != null ? health.requestsSinceLastCheckup() : null,
+                health != null ? health.failingRate() : null);
+        if (pending.offer(sample)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Write queued samples and their rollup deltas, one batch per transaction
+     *
+     * @return number of samples written
+     */
+    @Scheduled(fixedDelayString = "${edge.history.flush-interval-ms:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            List<TelemetrySample> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                Timer.Sample timing = Timer.start();
+                try {
+                    store.append(batch, rollup(batch));
+                } catch (Exception e) {
+                    // The batch was rolled back: queue it again (as far as it fits) for the next flush
+                    log.error("Failed to write {} telemetry history samples: {}", batch.size(), e.getMessage());
+                    failedCounter.increment(batch.size());
+                    batch.forEach(sample -> {
+                        if (!pending.offer(sample)) {
+                            droppedCounter.increment();
+                        }
+                    });
+                    return written;
+                } finally {
+                    timing.stop(flushTimer);
+                }
+                written += batch.size();
+                writtenCounter.increment(batch.size());
+                batch = new ArrayList<>(batchSize);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Flushing {} pending telemetry history samples before shutdown", pending.size());
+        flush();
+    }
+
+    /**
+     * Delete samples and rollups older than the retention of their resolution
+     *
+     * @return number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${edge.history.retention.check-interval-ms:3600000}")
+    public long applyRetention() {
+        Instant now = Instant.now();
+        long deleted = 0;
+        for (TelemetryResolution resolution : TelemetryResolution.values()) {
+            Instant cutoff = now.minus(retention.get(resolution));
+            int chunk;
+            do {
+                chunk = resolution.isRollup()
+                        ? store.deleteRollupsBefore(resolution, cutoff, RETENTION_DELETE_CHUNK)
+                        : store.deleteSamplesBefore(cutoff, RETENTION_DELETE_CHUNK);
+                deleted += chunk;
+            } while (chunk == RETENTION_DELETE_CHUNK);
+        }
+        if (deleted > 0) {
+            purgedCounter.increment(deleted);
+            log.info("Purged {} telemetry history rows past retention", deleted);
+        }
+        return deleted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        store.deleteBySerialNumber(event.serialNumber());
+    }
+
+    /**
+     * Telemetry history of a device owned by the user
+     * PRIVACY: Only the owner of the device can read its history
+     *
+     * @param serialNumber Device serial number
+     * @param userId       Requesting user
+     * @param from         Range start (inclusive), or null for one day before {@code to}
+     * @param to           Range end (exclusive), or null for now
+     * @param resolution   Requested resolution, or null to choose one for the range
+     * @return Points of the range, at most the configured maximum
+     * @throws IllegalArgumentException if the device does not exist
+     * @throws SecurityException if the user does not own the device
+     */
+    public TelemetryHistory history(String serialNumber, String userId, Instant from, Instant to,
+                                    TelemetryResolution resolution) {
+        IotDevice device = deviceRepository.findBySerialNumber(serialNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Device not found: " + serialNumber));
+        if (!userId.equals(device.getOwnerId())) {
+            throw new SecurityException("User " + userId + " is not authorized to read this device");
+        }
+
+        Instant now = Instant.now();
+        Instant end = to != null ? to : now;
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        TelemetryResolution effective = resolution != null ? resolution : chooseResolution(start, end, now);
+
+        List<TelemetryHistoryPoint> points = new ArrayList<>();
+        if (effective.isRollup()) {
+            // Include the bucket that contains the range start
+            store.findRollups(serialNumber, effective, effective.bucketStart(start), end, maxPoints + 1)
+                    .forEach(rollup -> points.add(toPoint(rollup, null)));
+        } else {
+            store.findSamples(serialNumber, start, end, maxPoints + 1)
+                    .forEach(sample -> points.add(
+                            toPoint(TelemetryRollup.of(sample, TelemetryResolution.RAW), sample.failingRate())));
+        }
+
+        boolean truncated = points.size() > maxPoints;
+        return new TelemetryHistory(serialNumber, effective, start, end,
+                List.copyOf(truncated ? points.subList(0, maxPoints) : points), truncated);
+    }
+
+    /**
+     * Finest resolution still retained at {@code from} whose point count for the range fits the budget
+     */
+    TelemetryResolution chooseResolution(Instant from, Instant to, Instant now) {
+        Duration range = Duration.between(from, to);
+        if (range.compareTo(rawMaxRange) <= 0 && isRetained(TelemetryResolution.RAW, from, now)) {
+            return TelemetryResolution.RAW;
+        }
+        for (TelemetryResolution resolution : ROLLUPS) {
+            if (range.dividedBy(resolution.step()) <= maxPoints && isRetained(resolution, from, now)) {
+                return resolution;
+            }
+        }
+        return TelemetryResolution.DAY;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private boolean isRetained(TelemetryResolution resolution, Instant from, Instant now) {
+        return !from.isBefore(now.minus(retention.get(resolution)));
+    }
+
+    private static List<TelemetryRollup> rollup(List<TelemetrySample> batch) {
+        Map<RollupKey, TelemetryRollup> deltas = new LinkedHashMap<>();
+        for (TelemetrySample sample : batch) {
+            for (TelemetryResolution resolution : ROLLUPS) {
+                TelemetryRollup delta = TelemetryRollup.of(sample, resolution);
+                deltas.merge(new RollupKey(sample.serialNumber(), resolution, delta.bucketStart()),
+                        delta, TelemetryRollup::merge);
+            }
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    private static TelemetryHistoryPoint toPoint(TelemetryRollup rollup, Double reportedFailingRate) {
+        Double failingRate = rollup.failingRate();
+        return new TelemetryHistoryPoint(
+                rollup.bucketStart(),
+                rollup.sampleCount(),
+                rollup.averageBattery(),
+                rollup.batteryMin(),
+                rollup.batteryMax(),
+                failingRate != null ? failingRate : reportedFailingRate,
+                rollup.sampleCount() > 0 ? (double) rollup.occupiedCount() / rollup.sampleCount() : 0.0,
+                rollup.errorCount());
+    }
+
+    private record RollupKey(String serialNumber, TelemetryResolution resolution, Instant bucketStart) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryIngestionResult;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryIngestionResult.Outcome;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOccupancyChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import com.constructinsight.edgeserver.iot.integration.service.BackendSyncPipeline;
+import com.constructinsight.edgeserver.iot.integration.service.OccupancyChangeDetector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application Service: Telemetry Ingestion
+ * Applies device telemetry through the write-behind buffer, records it in the
+ * telemetry history and health statistics, and queues occupancy transitions for asynchronous sync
+ * with the main backend.
+ * Shared by every ingestion channel.
+ *
+ * Reports are applied asynchronously on the {@link DeviceLaneExecutor} lane of their
+ * device: reports of one device are applied in arrival order, and a report whose
+ * {@code checkedAt} is older than one already applied is dropped. That watermark is kept
+ * per device until it is deleted or stays silent for {@code edge.ingestion.device-state-ttl}.
+ * A report without status is resolved by the upsert itself, never read on the lane.
+ */
+@Service
+@Slf4j
+public class TelemetryIngestionService {
+
+    private final TelemetryWriteBehindBuffer writeBehindBuffer;
+    private final BackendSyncPipeline backendSyncPipeline;
+    private final OccupancyChangeDetector occupancyChangeDetector;
+    private final IotDeviceRepository deviceRepository;
+    private final DeviceTelemetryWriter telemetryWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeviceLaneExecutor laneExecutor;
+    private final TelemetryHistoryService historyService;
+    private final DeviceHealthTracker healthTracker;
+
+    private final long stateTtlMillis;
+
+    // Written only from the lane owning each serial number; idle and removed devices are dropped
+    private final ConcurrentHashMap<String, DeviceIngestState> states = new ConcurrentHashMap<>();
+    private final Counter outOfOrderCounter;
+
+    public TelemetryIngestionService(
+            TelemetryWriteBehindBuffer writeBehindBuffer,
+            BackendSyncPipeline backendSyncPipeline,
+            OccupancyChangeDetector occupancyChangeDetector,
+            IotDeviceRepository deviceRepository,
+            DeviceTelemetryWriter telemetryWriter,
+            ApplicationEventPublisher eventPublisher,
+            DeviceLaneExecutor laneExecutor,
+            TelemetryHistoryService historyService,
+            DeviceHealthTracker healthTracker,
+            MeterRegistry meterRegistry,
+            @Value("${edge.ingestion.device-state-ttl:PT24H}") Duration stateTtl) {
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.backendSyncPipeline = backendSyncPipeline;
+        this.occupancyChangeDetector = occupancyChangeDetector;
+        this.deviceRepository = deviceRepository;
+        this.telemetryWriter = telemetryWriter;
+        this.eventPublisher = eventPublisher;
+        this.laneExecutor = laneExecutor;
+        this.historyService = historyService;
+        this.healthTracker = healthTracker;
+        this.stateTtlMillis = stateTtl.toMillis();
+        this.outOfOrderCounter = meterRegistry.counter("edge.ingestion.out-of-order");
+        Gauge.builder("edge.ingestion.device-states", states, ConcurrentHashMap::size)
+                .description("Devices with an ordering watermark in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop the lanes before the write-behind buffer (a dependency of this bean) is flushed
+     * on shutdown, so reports already accepted reach the final flush
+     */
+    @PreDestroy
+    void stopLanes() throws InterruptedException {
+        laneExecutor.drainAndStop();
+    }
+
+    /**
+     * Accept a single telemetry report for asynchronous, per-device ordered ingestion.
+     * Unknown devices are auto-discovered (unbound) when the buffer is flushed.
+     *
+     * @param report Telemetry reported by the device
+     * @return false if the device's lane is full (the report is not applied)
+     * @throws IllegalArgumentException if the report is invalid
+     */
+    public boolean submit(TelemetryReportCommand report) {
+        String error = validate(report);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        return enqueue(report);
+    }
+
+    /**
+     * Hand an already validated report to its device's lane
+     */
+    private boolean enqueue(TelemetryReportCommand report) {
+        return laneExecutor.submit(report.serialNumber(), () -> apply(report));
+    }
+
+    /**
+     * Apply a report on its device's lane
+     */
+    private void apply(TelemetryReportCommand report) {
+        // Single writer per serial number (its lane), so get-then-put cannot interleave
+        DeviceIngestState previous = states.get(report.serialNumber());
+        Instant watermark = previous != null ? previous.checkedAt() : null;
+        if (report.checkedAt() != null && watermark != null && report.checkedAt().isBefore(watermark)) {
+            outOfOrderCounter.increment();
+            log.debug("Dropping out-of-order telemetry of {} checked at {}", report.serialNumber(), report.checkedAt());
+            return;
+        }
+
+        states.put(report.serialNumber(), new DeviceIngestState(
+                report.checkedAt() != null ? report.checkedAt() : watermark, System.currentTimeMillis()));
+
+        DeviceTelemetryUpdate update = toUpdate(report);
+        writeBehindBuffer.offer(update);
+        historyService.record(report, update.lastCheckIn());
+        if (report.health() != null) {
+            healthTracker.record(report.serialNumber(), report.health(), update.lastCheckIn());
+        }
+
+        // Only occupancy transitions (and periodic heartbeats) reach the main backend and live streams
+        Instant now = Instant.now();
+        if (report.occupied() != null
+                && occupancyChangeDetector.shouldForward(report.serialNumber(), report.occupied(),
+                        now.getEpochSecond())) {
+            log.debug("Queueing occupancy of {} for main backend: {}", report.serialNumber(), report.occupied());
+            backendSyncPipeline.enqueue(report.serialNumber(), report.occupied());
+            eventPublisher.publishEvent(new DeviceOccupancyChangedEvent(report.serialNumber(), report.occupied(), now));
+        }
+    }
+
+    /**
+     * Ingest a batch of telemetry reports (e.g. from a parking gateway).
+     * Devices are resolved with a single IN query, missing ones are created in one
+     * batch insert and every valid report is submitted to its device's lane.
+     * Each report is validated once; the outcome is reused when submitting it.
+     *
+     * @param reports Telemetry reports, in arrival order
+     * @return Per-item outcome, in the same order as the input
+     */
+    public List<TelemetryIngestionResult> ingestBatch(List<TelemetryReportCommand> reports) {
+        List<TelemetryIngestionResult> results = new ArrayList<>(reports.size());
+        Map<String, DeviceTelemetryUpdate> firstBySerial = new LinkedHashMap<>();
+        String[] errors = new String[reports.size()];
+
+        for (int i = 0; i < reports.size(); i++) {
+            TelemetryReportCommand report = reports.get(i);
+            errors[i] = validate(report);
+            if (errors[i] == null) {
+                firstBySerial.putIfAbsent(report.serialNumber(), toUpdate(report));
+            }
+        }
+
+        Set<String> existing = new HashSet<>(deviceRepository.findExistingSerialNumbers(firstBySerial.keySet()));
+        List<DeviceTelemetryUpdate> discovered = firstBySerial.values().stream()
+                .filter(update -> !existing.contains(update.serialNumber()))
+                .toList();
+        telemetryWriter.insertDiscovered(discovered);
+
+        Set<String> created = new HashSet<>();
+        for (int i = 0; i < reports.size(); i++) {
+            TelemetryReportCommand report = reports.get(i);
+            if (errors[i] != null) {
+                results.add(new TelemetryIngestionResult(i, report != null ? report.serialNumber() : null,
+                        Outcome.REJECTED, errors[i]));
+                continue;
+            }
+
+            if (!enqueue(report)) {
+                results.add(new TelemetryIngestionResult(i, report.serialNumber(), Outcome.REJECTED,
+                        "Ingestion queue full, retry later"));
+                continue;
+            }
+
+            boolean isNew = !existing.contains(report.serialNumber()) && created.add(report.serialNumber());
+            results.add(new TelemetryIngestionResult(i, report.serialNumber(),
+                    isNew ? Outcome.CREATED : Outcome.ACCEPTED, null));
+        }
+
+        log.debug("Batch of {} reports ingested ({} devices created)", reports.size(), discovered.size());
+        return results;
+    }
+
+    /**
+     * Forget devices that have not reported for {@code edge.ingestion.device-state-ttl}.
+     * Conditional removal: a report applied meanwhile replaces the entry and keeps it.
+     */
+    @Scheduled(fixedDelayString = "${edge.ingestion.device-state-sweep-interval-ms:600000}")
+    public int evictIdleStates() {
+        long cutoff = System.currentTimeMillis() - stateTtlMillis;
+        int before = states.size();
+        states.entrySet().removeIf(entry -> entry.getValue().appliedAtMillis() < cutoff);
+        return before - states.size();
+    }
+
+    /**
+     * A deleted device starts over if it is registered again
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        states.remove(event.serialNumber());
+    }
+
+    private DeviceTelemetryUpdate toUpdate(TelemetryReportCommand report) {
+        return new DeviceTelemetryUpdate(
+                report.serialNumber(),
+                report.battery(),
+                report.status(),
+                report.checkedAt() != null ? report.checkedAt() : Instant.now());
+    }
+
+    private String validate(TelemetryReportCommand report) {
+        if (report == null || report.serialNumber() == null || report.serialNumber().isBlank()) {
+            return "Serial number is required";
+        }
+        if (report.battery() != null && (report.battery() < 0 || report.battery() > 100)) {
+            return "Battery must be between 0 and 100";
+        }
+        return null;
+    }
+
+    /**
+     * Last applied report of a device: ordering watermark (device clock) and when it was
+     * applied (server clock, for expiry)
+     */
+    private record DeviceIngestState(Instant checkedAt, long appliedAtMillis) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application Service: Write-behind buffer for device telemetry
+ * Keeps only the latest telemetry per serial number in memory and flushes it
+ * to the database in periodic JDBC batches, so ingestion never waits on MySQL.
+ *
+ * Memory is bounded by the number of distinct devices pending a flush; when the
+ * limit is reached the caller performs the flush itself (backpressure).
+ * Every written batch is published as a {@link DeviceTelemetryAppliedEvent}.
+ */
+@Service
+@Slf4j
+public class TelemetryWriteBehindBuffer {
+
+    private final DeviceTelemetryWriter telemetryWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxDevices;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, DeviceTelemetryUpdate> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter coalescedCounter;
+    private final Counter backpressureCounter;
+    private final Counter failedCounter;
+
+    public TelemetryWriteBehindBuffer(
+            DeviceTelemetryWriter telemetryWriter,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${edge.telemetry.write-behind.max-devices:50000}") int maxDevices,
+            @Value("${edge.telemetry.write-behind.batch-size:500}") int batchSize) {
+        this.telemetryWriter = telemetryWriter;
+        this.eventPublisher = eventPublisher;
+        this.maxDevices = maxDevices;
+        this.batchSize = batchSize;
+
+        Gauge.builder("edge.telemetry.buffer.depth", pending, ConcurrentHashMap::size)
+                .description("Devices with telemetry pending to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("edge.telemetry.buffer.flush")
+                .description("Latency of write-behind flushes")
+                .register(meterRegistry);
+        this.flushedCounter = meterRegistry.counter("edge.telemetry.buffer.flushed");
+        this.coalescedCounter = meterRegistry.counter("edge.telemetry.buffer.coalesced");
+        this.backpressureCounter = meterRegistry.counter("edge.telemetry.buffer.backpressure");
+        this.failedCounter = meterRegistry.counter("edge.telemetry.buffer.failed");
+    }
+
+    /**
+     * Record the latest telemetry of a device.
+     * Reports for a device already pending are coalesced into a single row update.
+     */
+    public void offer(DeviceTelemetryUpdate update) {
+        if (pending.size() >= maxDevices && !pending.containsKey(update.serialNumber())) {
+            log.warn("Telemetry buffer full ({} devices), flushing on caller thread", pending.size());
+            backpressureCounter.increment();
+            flush();
+        }
+
+        pending.merge(update.serialNumber(), update, (older, newer) -> {
+            coalescedCounter.increment();
+            return older.mergeWith(newer);
+        });
+    }
+
+    /**
+     * Number of devices currently waiting to be flushed
+     */
+    public int depth() {
+        return pending.size();
+    }
+
+    /**
+     * Flush all pending telemetry in batches of {@code batchSize}.
+     * Failed batches are put back so the next flush retries them.
+     */
+    @Scheduled(fixedDelayString = "${edge.telemetry.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                List<DeviceTelemetryUpdate> batch = drain();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (!writeBatch(batch)) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending telemetry updates before shutdown", pending.size());
+        flush();
+    }
+
+    private List<DeviceTelemetryUpdate> drain() {
+        List<DeviceTelemetryUpdate> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (String serialNumber : pending.keySet()) {
+            DeviceTelemetryUpdate update = pending.remove(serialNumber);
+            if (update != null) {
+                batch.add(update);
+            }
+            if (batch.size() >= batchSize) {
+                break;
+            }
+        }
+        return batch;
+    }
+
+    private boolean writeBatch(List<DeviceTelemetryUpdate> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            telemetryWriter.writeAll(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.error("Telemetry flush of {} devices failed, re-queueing: {}", batch.size(), e.getMessage());
+            failedCounter.increment(batch.size());
+            // Newer reports received meanwhile must win over the failed ones
+            batch.forEach(failed -> pending.merge(failed.serialNumber(), failed,
+                    (newer, older) -> older.mergeWith(newer)));
+            return false;
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        // Outside the try: a failing listener must not re-queue rows already written
+        eventPublisher.publishEvent(new DeviceTelemetryAppliedEvent(List.copyOf(batch)));
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.constructinsight.edgeserver.iot.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Domain Event: A sensor reported an occupancy transition (or its periodic heartbeat)
+ */
+public record DeviceOccupancyChangedEvent(
+        String serialNumber,
+        boolean occupied,
+        Instant occurredAt
+) {
+}
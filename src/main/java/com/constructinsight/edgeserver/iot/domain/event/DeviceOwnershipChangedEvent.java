@@ -0,0 +1,16 @@
+package com.constructinsight.edgeserver.iot.domain.event;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+
+/**
+ * Domain Event: A device was bound to or unbound from a user
+ * {@code ownerId} is null after an unbind.
+ */
+public record DeviceOwnershipChangedEvent(
+        String serialNumber,
+        String previousOwnerId,
+        String ownerId,
+        DeviceStatus status,
+        Integer battery
+) {
+}
@@ -0,0 +1,11 @@
+package com.constructinsight.edgeserver.iot.domain.event;
+
+/**
+ * Domain Event: A device was permanently deleted
+ * {@code ownerId} is null if the device was unbound.
+ */
+public record DeviceRemovedEvent(
+        String serialNumber,
+        String ownerId
+) {
+}
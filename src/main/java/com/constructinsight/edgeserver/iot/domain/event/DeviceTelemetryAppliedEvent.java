@@ -0,0 +1,14 @@
+package com.constructinsight.edgeserver.iot.domain.event;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+
+import java.util.List;
+
+/**
+ * Domain Event: A batch of telemetry updates was written to the database
+ * Published once per flushed batch, not per report.
+ */
+public record DeviceTelemetryAppliedEvent(
+        List<DeviceTelemetryUpdate> updates
+) {
+}
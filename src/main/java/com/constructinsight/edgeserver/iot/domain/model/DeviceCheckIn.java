@@ -0,0 +1,12 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Value Object: Last time a device reported in
+ */
+public record DeviceCheckIn(
+        String serialNumber,
+        Instant lastCheckIn
+) {
+}
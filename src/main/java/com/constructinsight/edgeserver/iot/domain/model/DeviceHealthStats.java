@@ -0,0 +1,26 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Value Object: Rolling health statistics of a device, built from its HealthMonitor reports
+ * Failing rates are fractions (0..1). Min/max and the sketch may lag the EWMA by design:
+ * the sketch decays, min/max cover every report since tracking started.
+ *
+ * @param samples              Reports that carried a failing rate
+ * @param ewmaFailingRate      Exponentially weighted moving average of the failing rate
+ * @param failuresSinceStartup Last reported counter
+ * @param requestsSinceStartup Last reported counter
+ */
+public record DeviceHealthStats(
+        String serialNumber,
+        long samples,
+        double ewmaFailingRate,
+        double minFailingRate,
+        double maxFailingRate,
+        Integer failuresSinceStartup,
+        Integer requestsSinceStartup,
+        FailingRateSketch sketch,
+        Instant lastReportAt
+) {
+}
@@ -0,0 +1,38 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+/**
+ * Value Object: Aggregated fleet counters for one owner
+ * Computed by the persistence layer in a single pass; no device is loaded.
+ */
+public record DeviceKpiSnapshot(
+        long totalDevices,
+        long onlineDevices,
+        long offlineDevices,
+        long lowBatteryDevices,
+        long batterySum
+) {
+
+    /**
+     * Devices with battery strictly below this value count as low battery
+     */
+    public static final int LOW_BATTERY_THRESHOLD = 20;
+
+    public static final DeviceKpiSnapshot EMPTY = new DeviceKpiSnapshot(0, 0, 0, 0, 0);
+
+    /**
+     * JPQL constructor expression entry point: SUM() yields null on an empty set
+     */
+    public DeviceKpiSnapshot(Long totalDevices, Long onlineDevices, Long offlineDevices,
+                             Long lowBatteryDevices, Long batterySum) {
+        this(orZero(totalDevices), orZero(onlineDevices), orZero(offlineDevices),
+                orZero(lowBatteryDevices), orZero(batterySum));
+    }
+
+    public double averageBattery() {
+        return totalDevices == 0 ? 0.0 : (double) batterySum / totalDevices;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
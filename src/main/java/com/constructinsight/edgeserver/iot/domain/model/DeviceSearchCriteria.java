@@ -0,0 +1,25 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+/**
+ * Value Object: Filters for listing a user's devices
+ * {@code ownerId} is mandatory (Privacy Filter); every other filter is optional (null = any).
+ * Battery bounds are inclusive.
+ */
+public record DeviceSearchCriteria(
+        String ownerId,
+        DeviceStatus status,
+        DeviceType type,
+        String parkingId,
+        Integer minBattery,
+        Integer maxBattery
+) {
+
+    public DeviceSearchCriteria {
+        if (ownerId == null || ownerId.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        if (minBattery != null && maxBattery != null && minBattery > maxBattery) {
+            throw new IllegalArgumentException("minBattery cannot be greater than maxBattery");
+        }
+    }
+}
@@ -4,6 +4,14 @@ public enum DeviceStatus {
     ONLINE,
     OFFLINE,
     MAINTENANCE,
-    ERROR
+    ERROR;
+
+    /**
+     * Status left by a check-in that reports none: any report proves the device is alive,
+     * so OFFLINE comes back ONLINE while MAINTENANCE and ERROR are kept
+     */
+    public DeviceStatus afterCheckIn() {
+        return this == OFFLINE ? ONLINE : this;
+    }
 }
 
@@ -0,0 +1,30 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Value Object: Latest telemetry state reported by a device
+ * Only the columns touched by telemetry (battery, status, lastCheckIn).
+ * Null battery/status mean "not reported" and keep the stored value, except that an
+ * OFFLINE device comes back ONLINE ({@link DeviceStatus#afterCheckIn()}).
+ */
+public record DeviceTelemetryUpdate(
+        String serialNumber,
+        Integer battery,
+        DeviceStatus status,
+        Instant lastCheckIn
+) {
+
+    /**
+     * Coalesce this (older) update with a newer one for the same device.
+     * Reported values of the newer update win; missing ones are kept from this update.
+     */
+    public DeviceTelemetryUpdate mergeWith(DeviceTelemetryUpdate newer) {
+        return new DeviceTelemetryUpdate(
+                serialNumber,
+                newer.battery() != null ? newer.battery() : battery,
+                newer.status() != null ? newer.status() : status,
+                newer.lastCheckIn() != null ? newer.lastCheckIn() : lastCheckIn
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Read Model: Flat, detached view of a device
+ * Projected straight from the query result, so listing devices never creates
+ * managed entities in the persistence context.
+ */
+public record DeviceView(
+        Long id,
+        String serialNumber,
+        String model,
+        DeviceType type,
+        DeviceStatus status,
+        Integer battery,
+        Instant lastCheckIn,
+        DeviceSyncStatus syncStatus,
+        String ownerId,
+        String parkingId,
+        String parkingSpotId,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
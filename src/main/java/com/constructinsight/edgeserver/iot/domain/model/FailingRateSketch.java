@@ -0,0 +1,81 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Value Object: Compact, decaying histogram of a device's failing rate (0..1)
+ * Fixed-width buckets give quantiles within half a bucket (1%) in constant space.
+ * When the total count reaches {@link #MAX_TOTAL} every bucket is halved, so old
+ * reports weigh less and the quantiles follow the device's recent behaviour.
+ *
+ * Not thread-safe; callers guard it together with the rest of the device state.
+ */
+public final class FailingRateSketch {
+
+    public static final int BUCKETS = 50;
+    public static final int MAX_TOTAL = 4096;
+
+    private final int[] counts;
+    private int total;
+
+    public FailingRateSketch() {
+        this.counts = new int[BUCKETS];
+    }
+
+    /**
+     * Restore a sketch from its bucket counts
+     *
+     * @throws IllegalArgumentException if the number of buckets does not match
+     */
+    public static FailingRateSketch fromCounts(int[] counts) {
+        if (counts.length != BUCKETS) {
+            throw new IllegalArgumentException("Expected " + BUCKETS + " buckets, got " + counts.length);
+        }
+        FailingRateSketch sketch = new FailingRateSketch();
+        System.arraycopy(counts, 0, sketch.counts, 0, BUCKETS);
+        sketch.total = Arrays.stream(counts).sum();
+        return sketch;
+    }
+
+    public void add(double rate) {
+        int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, Math.floor(rate * BUCKETS)));
+        counts[bucket]++;
+        if (++total >= MAX_TOTAL) {
+            total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] >>= 1;
+                total += counts[i];
+            }
+        }
+    }
+
+    /**
+     * Approximate quantile (midpoint of the bucket holding it), or null if empty
+     */
+    public Double quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return (i + 0.5) / BUCKETS;
+            }
+        }
+        return (BUCKETS - 0.5) / BUCKETS;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public int[] counts() {
+        return counts.clone();
+    }
+
+    public FailingRateSketch copy() {
+        return fromCounts(counts);
+    }
+}
@@ -5,18 +5,31 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 
 /**
  * Domain Entity: IoT Device
  * Represents a physical IoT device with ownership and privacy controls
+ *
+ * Indexes follow the lookups: idx_owner_id serves the keyset listing (InnoDB appends the
+ * primary key, so it is ordered by (ownerId, id)); idx_owner_status_battery covers the KPI
+ * aggregate and the status/battery filters of the listing; idx_parking_owner and
+ * idx_parking_spot serve the per-parking and per-spot lookups of a user.
+ *
+ * Updates through the entity (bind, unbind) only write the changed columns; telemetry
+ * never goes through it (see DeviceTelemetryWriter).
  */
 @Entity
+@DynamicUpdate
 @Table(name = "iot_devices",
        indexes = {
            @Index(name = "idx_serial_number", columnList = "serialNumber", unique = true),
-           @Index(name = "idx_owner_id", columnList = "ownerId")
+           @Index(name = "idx_owner_id", columnList = "ownerId"),
+           @Index(name = "idx_owner_status_battery", columnList = "ownerId, status, battery"),
+           @Index(name = "idx_parking_owner", columnList = "parkingId, ownerId, status"),
+           @Index(name = "idx_parking_spot", columnList = "parkingId, parkingSpotId")
        })
 @Getter
 @Setter
@@ -0,0 +1,13 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+/**
+ * Value Object: Pending occupancy state of a sensor for the main backend
+ * {@code sequence} grows with every new state, so a delivery can only acknowledge
+ * the exact state it sent.
+ */
+public record OccupancySyncEntry(
+        String serialNumber,
+        boolean occupied,
+        long sequence
+) {
+}
@@ -0,0 +1,12 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+/**
+ * Value Object: KPI-relevant state of a device bound to a user
+ */
+public record OwnedDeviceState(
+        String serialNumber,
+        String ownerId,
+        DeviceStatus status,
+        Integer battery
+) {
+}
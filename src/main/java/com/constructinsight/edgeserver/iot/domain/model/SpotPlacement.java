@@ -0,0 +1,11 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+/**
+ * Value Object: Parking spot a sensor is installed on
+ */
+public record SpotPlacement(
+        String serialNumber,
+        String parkingId,
+        String parkingSpotId
+) {
+}
@@ -0,0 +1,42 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Granularity of telemetry history: raw samples or fixed-size rollup buckets
+ */
+public enum TelemetryResolution {
+    RAW(Duration.ZERO),
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration step;
+
+    TelemetryResolution(Duration step) {
+        this.step = step;
+    }
+
+    public Duration step() {
+        return step;
+    }
+
+    /**
+     * Whether this resolution is stored as rollup buckets (every resolution but RAW)
+     */
+    public boolean isRollup() {
+        return this != RAW;
+    }
+
+    /**
+     * Start of the bucket containing {@code instant} (UTC-aligned); RAW returns the instant itself
+     */
+    public Instant bucketStart(Instant instant) {
+        if (!isRollup()) {
+            return instant;
+        }
+        long stepMillis = step.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), stepMillis) * stepMillis);
+    }
+}
@@ -0,0 +1,85 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Value Object: Aggregate of the telemetry samples of a device within one bucket
+ * Holds sums and counts rather than averages, so partial rollups of the same bucket
+ * can be merged (in memory or in the store) without losing precision.
+ */
+public record TelemetryRollup(
+        String serialNumber,
+        TelemetryResolution resolution,
+        Instant bucketStart,
+        long sampleCount,
+        long batteryCount,
+        long batterySum,
+        Integer batteryMin,
+        Integer batteryMax,
+        long failures,
+        long requests,
+        long occupiedCount,
+        long errorCount
+) {
+
+    /**
+     * Rollup of a single sample
+     */
+    public static TelemetryRollup of(TelemetrySample sample, TelemetryResolution resolution) {
+        Integer battery = sample.battery();
+        return new TelemetryRollup(
+                sample.serialNumber(),
+                resolution,
+                resolution.bucketStart(sample.sampledAt()),
+                1,
+                battery != null ? 1 : 0,
+                battery != null ? battery : 0,
+                battery,
+                battery,
+                sample.failures() != null ? sample.failures() : 0,
+                sample.requests() != null ? sample.requests() : 0,
+                Boolean.TRUE.equals(sample.occupied()) ? 1 : 0,
+                sample.status() == DeviceStatus.ERROR ? 1 : 0);
+    }
+
+    /**
+     * Combine with another rollup of the same device, resolution and bucket
+     */
+    public TelemetryRollup merge(TelemetryRollup other) {
+        return new TelemetryRollup(
+                serialNumber,
+                resolution,
+                bucketStart,
+                sampleCount + other.sampleCount,
+                batteryCount + other.batteryCount,
+                batterySum + other.batterySum,
+                min(batteryMin, other.batteryMin),
+                max(batteryMax, other.batteryMax),
+                failures + other.failures,
+                requests + other.requests,
+                occupiedCount + other.occupiedCount,
+                errorCount + other.errorCount);
+    }
+
+    /**
+     * Average reported battery, or null if no sample reported it
+     */
+    public Double averageBattery() {
+        return batteryCount > 0 ? (double) batterySum / batteryCount : null;
+    }
+
+    /**
+     * Failed over total requests in the bucket, or null if no request was reported
+     */
+    public Double failingRate() {
+        return requests > 0 ? (double) failures / requests : null;
+    }
+
+    private static Integer min(Integer a, Integer b) {
+        return a == null ? b : b == null ? a : Integer.valueOf(Math.min(a, b));
+    }
+
+    private static Integer max(Integer a, Integer b) {
+        return a == null ? b : b == null ? a : Integer.valueOf(Math.max(a, b));
+    }
+}
@@ -0,0 +1,20 @@
+package com.constructinsight.edgeserver.iot.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Value Object: One telemetry report of a device, as kept in its history
+ * Null fields mean the device did not report that value.
+ * {@code failures} and {@code requests} are the counters since the previous check-up.
+ */
+public record TelemetrySample(
+        String serialNumber,
+        Instant sampledAt,
+        Integer battery,
+        DeviceStatus status,
+        Boolean occupied,
+        Integer failures,
+        Integer requests,
+        Double failingRate
+) {
+}
@@ -0,0 +1,19 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+
+import java.util.List;
+
+/**
+ * Domain Port: High-throughput device creation
+ * Inserts a chunk of new devices in one batched statement and one transaction
+ */
+public interface DeviceBulkWriter {
+
+    /**
+     * Insert a chunk of devices, skipping serial numbers that already exist
+     *
+     * @return number of devices actually inserted
+     */
+    int insertBatch(List<IotDevice> devices);
+}
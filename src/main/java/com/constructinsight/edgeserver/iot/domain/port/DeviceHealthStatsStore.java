@@ -0,0 +1,21 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceHealthStats;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Domain Port: Persisted snapshot of per-device health statistics
+ */
+public interface DeviceHealthStatsStore {
+
+    /**
+     * Insert or replace the statistics of each device
+     */
+    void saveAll(Collection<DeviceHealthStats> stats);
+
+    List<DeviceHealthStats> findAll();
+
+    void deleteBySerialNumber(String serialNumber);
+}
@@ -0,0 +1,20 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+
+import java.util.Collection;
+
+/**
+ * Domain Port: Bulk persistence of the backend sync status of devices
+ * Writes only the sync status column, without loading the aggregates
+ */
+public interface DeviceSyncStatusWriter {
+
+    /**
+     * Set the sync status of all given devices.
+     * Devices already in that status and unknown serial numbers are left untouched.
+     *
+     * @return number of devices whose status changed
+     */
+    int updateSyncStatus(DeviceSyncStatus status, Collection<String> serialNumbers);
+}
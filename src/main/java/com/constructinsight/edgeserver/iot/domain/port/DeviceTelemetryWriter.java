@@ -0,0 +1,36 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Domain Port: Batched persistence of device telemetry
+ * Writes only the telemetry columns, without loading the aggregate
+ */
+public interface DeviceTelemetryWriter {
+
+    /**
+     * Apply a batch of telemetry updates.
+     * Devices that do not exist yet are auto-discovered (created unbound) by the same
+     * atomic upsert, so concurrent first reports of a device never conflict.
+     * An update without status is resolved against the stored row
+     * ({@link com.constructinsight.edgeserver.iot.domain.model.DeviceStatus#afterCheckIn()}).
+     */
+    void writeAll(List<DeviceTelemetryUpdate> updates);
+
+    /**
+     * Create unbound, auto-discovered devices in a single batch.
+     * Serial numbers that already exist are ignored.
+     */
+    void insertDiscovered(List<DeviceTelemetryUpdate> discovered);
+
+    /**
+     * Mark ONLINE devices as OFFLINE, unless they checked in at or after {@code checkedInBefore}
+     *
+     * @return serial numbers of the devices actually marked OFFLINE
+     */
+    List<String> markOffline(Collection<String> serialNumbers, Instant checkedInBefore);
+}
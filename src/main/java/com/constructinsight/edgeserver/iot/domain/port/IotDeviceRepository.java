@@ -1,7 +1,15 @@
 package com.constructinsight.edgeserver.iot.domain.port;
 
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,15 +25,69 @@ public interface IotDeviceRepository {
     Optional<IotDevice> findBySerialNumber(String serialNumber);
 
     /**
-     * Find all devices owned by a specific user (Privacy Filter)
+     * Find device by serial number, locking its row until the current transaction ends
+     * Always read from the database (never from a cache): use it for read-modify-write.
      */
-    List<IotDevice> findAllByOwnerId(String ownerId);
+    Optional<IotDevice> findForUpdate(String serialNumber);
+
+    /**
+     * Return which of the given serial numbers already exist (single IN query, no entity loading)
+     */
+    List<String> findExistingSerialNumbers(Collection<String> serialNumbers);
+
+    /**
+     * Keyset page of a user's devices with id greater than {@code afterId}, ordered by id
+     * (Privacy Filter, projected to views without loading entities)
+     */
+    List<DeviceView> findPageByOwner(DeviceSearchCriteria criteria, long afterId, int limit);
+
+    /**
+     * A user's devices installed in a parking, ordered by id (Privacy Filter, projection)
+     *
+     * @param status Only devices in this status, or null for any
+     */
+    List<DeviceView> findByParking(String ownerId, String parkingId, DeviceStatus status);
+
+    /**
+     * A user's devices installed on a spot of a parking, ordered by id (Privacy Filter, projection)
+     */
+    List<DeviceView> findByParkingSpot(String ownerId, String parkingId, String parkingSpotId);
+
+    /**
+     * Aggregate KPI counters for a user's devices in a single query (Privacy Filter, no entity loading)
+     *
+     * @param lowBatteryThreshold devices with battery strictly below this value count as low battery
+     */
+    DeviceKpiSnapshot aggregateKpisByOwnerId(String ownerId, int lowBatteryThreshold);
+
+    /**
+     * KPI-relevant state of every bound device (projection, no entity loading)
+     */
+    List<OwnedDeviceState> findOwnedDeviceStates();
+
+    /**
+     * Last check-in of every device in the given status (projection, no entity loading)
+     */
+    List<DeviceCheckIn> findCheckInsByStatus(DeviceStatus status);
+
+    /**
+     * Parking and spot of every device installed on a spot (projection, no entity loading)
+     */
+    List<SpotPlacement> findSpotPlacements();
 
     /**
      * Save or update a device
      */
     IotDevice save(IotDevice device);
 
+    /**
+     * Register a device unless its serial number already exists, atomically
+     * (an existing device is left untouched)
+     *
+     * @return id of the stored device
+     */
+    long registerIfAbsent(IotDevice device);
+
     /**
      * Save multiple devices (bulk operation)
      */
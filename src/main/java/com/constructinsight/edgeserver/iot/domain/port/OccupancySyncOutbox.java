@@ -0,0 +1,39 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.OccupancySyncEntry;
+
+import java.util.List;
+
+/**
+ * Domain Port: Durable outbox of occupancy changes pending sync with the main backend
+ * Compacted: holds at most one entry (the latest state) per serial number.
+ */
+public interface OccupancySyncOutbox {
+
+    /**
+     * Store entries, replacing any pending state of the same serial numbers
+     */
+    void appendAll(List<OccupancySyncEntry> entries);
+
+    /**
+     * Oldest pending entries, by sequence
+     */
+    List<OccupancySyncEntry> fetchOldest(int limit);
+
+    /**
+     * Remove delivered entries, unless a newer state was stored for them meanwhile
+     *
+     * @return number of entries removed
+     */
+    int removeDelivered(List<OccupancySyncEntry> entries);
+
+    /**
+     * Highest sequence stored, or 0 when empty
+     */
+    long maxSequence();
+
+    /**
+     * Number of pending entries (full table count: read once at startup, not per scrape)
+     */
+    long count();
+}
@@ -0,0 +1,53 @@
+package com.constructinsight.edgeserver.iot.domain.port;
+
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryRollup;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetrySample;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Domain Port: Append-only telemetry history of devices
+ * Raw samples plus downsampled rollups per {@link TelemetryResolution}; every read is a
+ * range of one device and one resolution.
+ */
+public interface TelemetryHistoryStore {
+
+    /**
+     * Append samples and add the rollup deltas to their buckets, atomically
+     * (a failed call leaves neither, so it can be retried without double counting)
+     */
+    void append(List<TelemetrySample> samples, Collection<TelemetryRollup> rollupDeltas);
+
+    /**
+     * Raw samples of a device with {@code from <= sampledAt < to}, oldest first
+     */
+    List<TelemetrySample> findSamples(String serialNumber, Instant from, Instant to, int limit);
+
+    /**
+     * Rollups of a device with {@code from <= bucketStart < to}, oldest first
+     */
+    List<TelemetryRollup> findRollups(String serialNumber, TelemetryResolution resolution,
+                                      Instant from, Instant to, int limit);
+
+    /**
+     * Delete up to {@code limit} raw samples older than {@code cutoff}
+     *
+     * @return number of samples deleted
+     */
+    int deleteSamplesBefore(Instant cutoff, int limit);
+
+    /**
+     * Delete up to {@code limit} rollups of a resolution whose bucket starts before {@code cutoff}
+     *
+     * @return number of rollups deleted
+     */
+    int deleteRollupsBefore(TelemetryResolution resolution, Instant cutoff, int limit);
+
+    /**
+     * Delete the whole history of a device
+     */
+    void deleteBySerialNumber(String serialNumber);
+}
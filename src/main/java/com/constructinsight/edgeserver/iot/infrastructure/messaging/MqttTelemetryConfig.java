@@ -0,0 +1,97 @@
+package com.constructinsight.edgeserver.iot.infrastructure.messaging;
+
+import com.constructinsight.edgeserver.iot.application.service.TelemetryIngestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.mqtt.core.DefaultMqttPahoClientFactory;
+import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+
+/**
+ * Configuración del canal MQTT de ingesta de telemetría
+ * Los sensores publican en {@code spotfinder/telemetry/{serial}} sobre una conexión
+ * persistente y cada mensaje pasa por la misma lógica que POST /api/iot/telemetry.
+ *
+ * El hilo de Paho entrega cada mensaje a la línea (lane) de su sensor, así que los
+ * mensajes de un mismo sensor se aplican en el orden en que llegan del broker.
+ *
+ * Se activa con {@code edge.mqtt.enabled=true}; para pruebas basta con un broker
+ * local (p. ej. Mosquitto en tcp://localhost:1883).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "edge.mqtt", name = "enabled", havingValue = "true")
+@Slf4j
+public class MqttTelemetryConfig {
+
+    @Value("${edge.mqtt.url:tcp://localhost:1883}")
+    private String brokerUrl;
+
+    @Value("${edge.mqtt.client-id:edge-server}")
+    private String clientId;
+
+    @Value("${edge.mqtt.username:}")
+    private String username;
+
+    @Value("${edge.mqtt.password:}")
+    private String password;
+
+    @Value("${edge.mqtt.topic:spotfinder/telemetry/+}")
+    private String topic;
+
+    @Value("${edge.mqtt.qos:1}")
+    private int qos;
+
+    @Value("${edge.mqtt.clean-session:false}")
+    private boolean cleanSession;
+
+    @Bean
+    public MqttPahoClientFactory mqttClientFactory() {
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setServerURIs(new String[]{brokerUrl});
+        options.setCleanSession(cleanSession);
+        options.setAutomaticReconnect(true);
+        if (!username.isBlank()) {
+            options.setUserName(username);
+            options.setPassword(password.toCharArray());
+        }
+
+        DefaultMqttPahoClientFactory factory = new DefaultMqttPahoClientFactory();
+        factory.setConnectionOptions(options);
+        return factory;
+    }
+
+    @Bean
+    public IntegrationFlow mqttTelemetryFlow(MqttPahoClientFactory mqttClientFactory,
+                                             MqttTelemetryPayloadDecoder decoder,
+                                             TelemetryIngestionService ingestionService) {
+        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
+        converter.setPayloadAsBytes(true);
+
+        MqttPahoMessageDrivenChannelAdapter adapter =
+                new MqttPahoMessageDrivenChannelAdapter(clientId, mqttClientFactory, topic);
+        adapter.setQos(qos);
+        adapter.setConverter(converter);
+
+        log.info("📡 [MQTT] Suscribiendo a {} en {} (QoS {})", topic, brokerUrl, qos);
+
+        return IntegrationFlow.from(adapter)
+                .handle(message -> {
+                    String receivedTopic = message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC, String.class);
+                    try {
+                        if (!ingestionService.submit(decoder.decode(receivedTopic, (byte[]) message.getPayload()))) {
+                            log.warn("⚠️ [MQTT] Cola de ingesta llena, descartando telemetría de {}", receivedTopic);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        log.warn("⚠️ [MQTT] Telemetría descartada de {}: {}", receivedTopic, e.getMessage());
+                    }
+                })
+                .get();
+    }
+}
@@ -0,0 +1,108 @@
+package com.constructinsight.edgeserver.iot.infrastructure.messaging;
+
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.DeviceTelemetryReport;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.TelemetryReportMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Decodificador de payloads MQTT de telemetría
+ *
+ * Soporta dos formatos:
+ * - JSON: el mismo cuerpo que POST /api/iot/telemetry
+ * - Compacto (para sensores a batería): {@code battery,status,occupied[,checkedAtEpochSeconds]}
+ *   donde status es O/F/M/E (online/offline/maintenance/error), occupied es 1/0
+ *   y un campo vacío significa "no reportado". Ejemplo: {@code 87,O,1,1735689600}
+ *
+ * El número de serie se toma del último nivel del topic ({@code spotfinder/telemetry/{serial}})
+ * salvo que el JSON lo incluya.
+ */
+@Component
+@RequiredArgsConstructor
+public class MqttTelemetryPayloadDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final TelemetryReportMapper telemetryReportMapper;
+
+    public TelemetryReportCommand decode(String topic, byte[] payload) {
+        String serialNumber = serialFromTopic(topic);
+
+        if (isJson(payload)) {
+            try {
+                DeviceTelemetryReport report = objectMapper.readValue(payload, DeviceTelemetryReport.class);
+                TelemetryReportCommand command = telemetryReportMapper.toCommand(report);
+                if (command.serialNumber() == null || command.serialNumber().isBlank()) {
+                    command = new TelemetryReportCommand(serialNumber, command.status(), command.battery(),
+                            command.checkedAt(), command.occupied(), command.health());
+                }
+                return requireSerial(command);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid JSON telemetry payload on " + topic, e);
+            }
+        }
+
+        return requireSerial(decodeCompact(serialNumber, new String(payload, StandardCharsets.US_ASCII).trim()));
+    }
+
+    private TelemetryReportCommand decodeCompact(String serialNumber, String payload) {
+        String[] fields = payload.split(",", -1);
+        if (fields.length < 3 || fields.length > 4) {
+            throw new IllegalArgumentException("Invalid compact telemetry payload: " + payload);
+        }
+
+        Integer battery = fields[0].isEmpty() ? null : Integer.valueOf(fields[0]);
+        DeviceStatus status = fields[1].isEmpty() ? null : compactStatus(fields[1]);
+        Boolean occupied = switch (fields[2]) {
+            case "" -> null;
+            case "1" -> Boolean.TRUE;
+            case "0" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Invalid occupancy flag: " + fields[2]);
+        };
+        Instant checkedAt = fields.length == 4 && !fields[3].isEmpty()
+                ? Instant.ofEpochSecond(Long.parseLong(fields[3]))
+                : null;
+
+        return new TelemetryReportCommand(serialNumber, status, battery, checkedAt, occupied);
+    }
+
+    private DeviceStatus compactStatus(String code) {
+        return switch (code) {
+            case "O" -> DeviceStatus.ONLINE;
+            case "F" -> DeviceStatus.OFFLINE;
+            case "M" -> DeviceStatus.MAINTENANCE;
+            case "E" -> DeviceStatus.ERROR;
+            default -> telemetryReportMapper.mapStatus(code);
+        };
+    }
+
+    private static boolean isJson(byte[] payload) {
+        for (byte b : payload) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private static String serialFromTopic(String topic) {
+        if (topic == null) {
+            return null;
+        }
+        int slash = topic.lastIndexOf('/');
+        return slash >= 0 ? topic.substring(slash + 1) : topic;
+    }
+
+    private static TelemetryReportCommand requireSerial(TelemetryReportCommand command) {
+        if (command.serialNumber() == null || command.serialNumber().isBlank()) {
+            throw new IllegalArgumentException("Telemetry without serial number");
+        }
+        return command;
+    }
+}
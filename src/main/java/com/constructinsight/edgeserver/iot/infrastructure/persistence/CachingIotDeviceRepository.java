@@ -0,0 +1,136 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorator: Serial-number cache in front of the JPA adapter
+ * Lookups by serial number are served from {@link DeviceSnapshotCache};
+ * every write through this port invalidates the affected devices.
+ * {@link #findForUpdate(String)} bypasses the cache, so read-modify-write never starts
+ * from a snapshot.
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+public class CachingIotDeviceRepository implements IotDeviceRepository {
+
+    private final IotDeviceRepositoryAdapter delegate;
+    private final DeviceSnapshotCache cache;
+
+    @Override
+    public Optional<IotDevice> findBySerialNumber(String serialNumber) {
+        Optional<IotDevice> cached = cache.get(serialNumber);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        // Stamp taken before the read: if a write evicts the device meanwhile, the
+        // (possibly pre-commit) row we loaded is not cached
+        long stamp = cache.stamp();
+        Optional<IotDevice> loaded = delegate.findBySerialNumber(serialNumber);
+        loaded.ifPresent(device -> cache.put(device, stamp));
+        return loaded;
+    }
+
+    @Override
+    public Optional<IotDevice> findForUpdate(String serialNumber) {
+        return delegate.findForUpdate(serialNumber);
+    }
+
+    @Override
+    public List<String> findExistingSerialNumbers(Collection<String> serialNumbers) {
+        return delegate.findExistingSerialNumbers(serialNumbers);
+    }
+
+    @Override
+    public List<DeviceView> findPageByOwner(DeviceSearchCriteria criteria, long afterId, int limit) {
+        return delegate.findPageByOwner(criteria, afterId, limit);
+    }
+
+    @Override
+    public List<DeviceView> findByParking(String ownerId, String parkingId, DeviceStatus status) {
+        return delegate.findByParking(ownerId, parkingId, status);
+    }
+
+    @Override
+    public List<DeviceView> findByParkingSpot(String ownerId, String parkingId, String parkingSpotId) {
+        return delegate.findByParkingSpot(ownerId, parkingId, parkingSpotId);
+    }
+
+    @Override
+    public DeviceKpiSnapshot aggregateKpisByOwnerId(String ownerId, int lowBatteryThreshold) {
+        return delegate.aggregateKpisByOwnerId(ownerId, lowBatteryThreshold);
+    }
+
+    @Override
+    public List<OwnedDeviceState> findOwnedDeviceStates() {
+        return delegate.findOwnedDeviceStates();
+    }
+
+    @Override
+    public List<DeviceCheckIn> findCheckInsByStatus(DeviceStatus status) {
+        return delegate.findCheckInsByStatus(status);
+    }
+
+    @Override
+    public List<SpotPlacement> findSpotPlacements() {
+        return delegate.findSpotPlacements();
+    }
+
+    @Override
+    public IotDevice save(IotDevice device) {
+        IotDevice saved = delegate.save(device);
+        cache.evict(saved.getSerialNumber());
+        return saved;
+    }
+
+    @Override
+    public long registerIfAbsent(IotDevice device) {
+        // Never changes an existing row, so cached snapshots stay valid
+        return delegate.registerIfAbsent(device);
+    }
+
+    @Override
+    public List<IotDevice> saveAll(List<IotDevice> devices) {
+        List<IotDevice> saved = delegate.saveAll(devices);
+        saved.forEach(device -> cache.evict(device.getSerialNumber()));
+        return saved;
+    }
+
+    @Override
+    public List<IotDevice> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void delete(IotDevice device) {
+        delegate.delete(device);
+        cache.evict(device.getSerialNumber());
+    }
+
+    @Override
+    public void deleteBySerialNumber(String serialNumber) {
+        delegate.deleteBySerialNumber(serialNumber);
+        cache.evict(serialNumber);
+    }
+
+    @Override
+    public boolean existsBySerialNumber(String serialNumber) {
+        return cache.get(serialNumber).isPresent() || delegate.existsBySerialNumber(serialNumber);
+    }
+}
@@ -0,0 +1,51 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Table mapping for per-device health statistics
+ * Read and written through {@link JdbcDeviceHealthStatsStore}; mapped here so the
+ * schema is managed together with the rest of the model.
+ */
+@Entity
+@Table(name = "device_health_stats")
+@Getter
+@NoArgsConstructor
+public class DeviceHealthStatsEntry {
+
+    @Id
+    @Column(length = 100)
+    private String serialNumber;
+
+    @Column(nullable = false)
+    private long samples;
+
+    @Column(nullable = false)
+    private double ewmaFailingRate;
+
+    @Column(nullable = false)
+    private double minFailingRate;
+
+    @Column(nullable = false)
+    private double maxFailingRate;
+
+    private Integer failuresSinceStartup;
+
+    private Integer requestsSinceStartup;
+
+    /**
+     * Failing rate sketch: one unsigned 16-bit count per bucket
+     */
+    @Column(nullable = false, length = 128)
+    private byte[] rateSketch;
+
+    @Column(nullable = false)
+    private Instant lastReportAt;
+}
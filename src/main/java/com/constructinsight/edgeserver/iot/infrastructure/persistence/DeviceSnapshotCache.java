@@ -0,0 +1,184 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU cache of device snapshots keyed by serial number
+ * Entries are detached copies: callers always get their own instance, so mutating
+ * a returned device never alters the cache. Entries expire after a TTL as a safety
+ * net for writes made outside this process.
+ *
+ * Every invalidation advances a sequence. A loader takes a {@link #stamp()} before reading
+ * the database and {@link #put(IotDevice, long)} refuses the result if the device was
+ * invalidated after that stamp, so a read overtaken by a commit is never cached.
+ */
+@Component
+public class DeviceSnapshotCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> invalidatedAt;
+    private long sequence;
+    private long forgottenInvalidations;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public DeviceSnapshotCache(
+            MeterRegistry meterRegistry,
+            @Value("${edge.device-cache.max-entries:10000}") int maxEntries,
+            @Value("${edge.device-cache.ttl:PT60S}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.evictionCounter = meterRegistry.counter("edge.device.cache.evictions");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > DeviceSnapshotCache.this.maxEntries) {
+                    evictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        // Last invalidation per device, bounded like the cache; older ones collapse into a watermark
+        this.invalidatedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > DeviceSnapshotCache.this.maxEntries) {
+                    forgottenInvalidations = eldest.getValue();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("edge.device.cache.size", this, DeviceSnapshotCache::size)
+                .description("Device snapshots currently cached")
+                .register(meterRegistry);
+        this.hitCounter = meterRegistry.counter("edge.device.cache.hits");
+        this.missCounter = meterRegistry.counter("edge.device.cache.misses");
+    }
+
+    /**
+     * Cached copy of the device, or empty on miss/expiry
+     */
+    public Optional<IotDevice> get(String serialNumber) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(serialNumber);
+            if (entry != null && System.currentTimeMillis() - entry.cachedAt() > ttlMillis) {
+                entries.remove(serialNumber);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(copyOf(entry.device()));
+    }
+
+    /**
+     * Current invalidation sequence; take it before loading a device to cache
+     */
+    public long stamp() {
+        synchronized (entries) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Cache a device loaded after {@code stamp} was taken, unless it was invalidated since
+     *
+     * @return false if the device was invalidated after the stamp (nothing is cached)
+     */
+    public boolean put(IotDevice device, long stamp) {
+        if (device.getSerialNumber() == null) {
+            return false;
+        }
+        Entry entry = new Entry(copyOf(device), System.currentTimeMillis());
+        synchronized (entries) {
+            Long invalidated = invalidatedAt.get(device.getSerialNumber());
+            if ((invalidated != null && invalidated > stamp) || forgottenInvalidations > stamp) {
+                return false;
+            }
+            entries.put(device.getSerialNumber(), entry);
+            return true;
+        }
+    }
+
+    /**
+     * Invalidate a device now and, if a transaction is active, again after it commits
+     * so a concurrent reader cannot re-cache the pre-commit row
+     */
+    public void evict(String serialNumber) {
+        remove(serialNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(serialNumber);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<String> serialNumbers) {
+        serialNumbers.forEach(this::evict);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(String serialNumber) {
+        synchronized (entries) {
+            entries.remove(serialNumber);
+            // Re-insert so the map stays ordered by sequence
+            invalidatedAt.remove(serialNumber);
+            invalidatedAt.put(serialNumber, ++sequence);
+        }
+    }
+
+    private static IotDevice copyOf(IotDevice device) {
+        return IotDevice.builder()
+                .id(device.getId())
+                .serialNumber(device.getSerialNumber())
+                .model(device.getModel())
+                .type(device.getType())
+                .status(device.getStatus())
+                .battery(device.getBattery())
+                .lastCheckIn(device.getLastCheckIn())
+                .syncStatus(device.getSyncStatus())
+                .ownerId(device.getOwnerId())
+                .parkingId(device.getParkingId())
+                .parkingSpotId(device.getParkingSpotId())
+                .createdAt(device.getCreatedAt())
+                .updatedAt(device.getUpdatedAt())
+                .build();
+    }
+
+    private record Entry(IotDevice device, long cachedAt) {
+    }
+}
@@ -1,11 +1,23 @@
 package com.constructinsight.edgeserver.iot.infrastructure.persistence;
 
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
 import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,7 +28,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class IotDeviceRepositoryAdapter implements IotDeviceRepository {
 
+    private static final String SELECT_VIEW = """
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceView(
+                d.id, d.serialNumber, d.model, d.type, d.status, d.battery, d.lastCheckIn, d.syncStatus,
+                d.ownerId, d.parkingId, d.parkingSpotId, d.createdAt, d.updatedAt)
+            FROM IotDevice d""";
+
     private final JpaIotDeviceRepository jpaRepository;
+    private final JdbcDeviceBulkWriter bulkWriter;
+    private final EntityManager entityManager;
 
     @Override
     public Optional<IotDevice> findBySerialNumber(String serialNumber) {
@@ -24,8 +44,88 @@ public class IotDeviceRepositoryAdapter implements IotDeviceRepository {
     }
 
     @Override
-    public List<IotDevice> findAllByOwnerId(String ownerId) {
-        return jpaRepository.findAllByOwnerId(ownerId);
+    public Optional<IotDevice> findForUpdate(String serialNumber) {
+        return jpaRepository.findForUpdateBySerialNumber(serialNumber);
+    }
+
+    @Override
+    public List<String> findExistingSerialNumbers(Collection<String> serialNumbers) {
+        if (serialNumbers.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findExistingSerialNumbers(serialNumbers);
+    }
+
+    /**
+     * Only the filters actually set become predicates: an optional predicate such as
+     * {@code (:status IS NULL OR d.status = :status)} cannot be used as an index key, while a plain
+     * one lets the optimizer pick idx_owner_status_battery (or idx_parking_owner) over idx_owner_id.
+     */
+    @Override
+    public List<DeviceView> findPageByOwner(DeviceSearchCriteria criteria, long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_VIEW)
+                .append(" WHERE d.ownerId = :ownerId AND d.id > :afterId");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("ownerId", criteria.ownerId());
+        parameters.put("afterId", afterId);
+        if (criteria.status() != null) {
+            jpql.append(" AND d.status = :status");
+            parameters.put("status", criteria.status());
+        }
+        if (criteria.type() != null) {
+            jpql.append(" AND d.type = :type");
+            parameters.put("type", criteria.type());
+        }
+        if (criteria.parkingId() != null) {
+            jpql.append(" AND d.parkingId = :parkingId");
+            parameters.put("parkingId", criteria.parkingId());
+        }
+        if (criteria.minBattery() != null) {
+            jpql.append(" AND d.battery >= :minBattery");
+            parameters.put("minBattery", criteria.minBattery());
+        }
+        if (criteria.maxBattery() != null) {
+            jpql.append(" AND d.battery <= :maxBattery");
+            parameters.put("maxBattery", criteria.maxBattery());
+        }
+        jpql.append(" ORDER BY d.id");
+
+        TypedQuery<DeviceView> query = entityManager.createQuery(jpql.toString(), DeviceView.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<DeviceView> findByParking(String ownerId, String parkingId, DeviceStatus status) {
+        return status != null
+                ? jpaRepository.findByParkingIdAndOwnerIdAndStatus(parkingId, ownerId, status)
+                : jpaRepository.findByParkingIdAndOwnerId(parkingId, ownerId);
+    }
+
+    @Override
+    public List<DeviceView> findByParkingSpot(String ownerId, String parkingId, String parkingSpotId) {
+        return jpaRepository.findByParkingIdAndParkingSpotIdAndOwnerId(parkingId, parkingSpotId, ownerId);
+    }
+
+    @Override
+    public DeviceKpiSnapshot aggregateKpisByOwnerId(String ownerId, int lowBatteryThreshold) {
+        return jpaRepository.aggregateKpisByOwnerId(ownerId, lowBatteryThreshold,
+                DeviceStatus.ONLINE, DeviceStatus.OFFLINE);
+    }
+
+    @Override
+    public List<OwnedDeviceState> findOwnedDeviceStates() {
+        return jpaRepository.findOwnedDeviceStates();
+    }
+
+    @Override
+    public List<DeviceCheckIn> findCheckInsByStatus(DeviceStatus status) {
+        return jpaRepository.findCheckInsByStatus(status);
+    }
+
+    @Override
+    public List<SpotPlacement> findSpotPlacements() {
+        return jpaRepository.findSpotPlacements();
     }
 
     @Override
@@ -33,6 +133,11 @@ public class IotDeviceRepositoryAdapter implements IotDeviceRepository {
         return jpaRepository.save(device);
     }
 
+    @Override
+    public long registerIfAbsent(IotDevice device) {
+        return bulkWriter.insertIfAbsent(device);
+    }
+
     @Override
     public List<IotDevice> saveAll(List<IotDevice> devices) {
         return jpaRepository.saveAll(devices);
@@ -0,0 +1,161 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceBulkWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Adapter: JDBC multi-row insert of new devices
+ * Hibernate cannot batch inserts of IDENTITY ids, so bulk creation bypasses it.
+ * Each chunk is sent as explicit multi-row {@code INSERT IGNORE} statements: the update
+ * count of such a statement is the number of rows it actually inserted, whatever the
+ * driver's batching settings ({@code rewriteBatchedStatements=true} reports only
+ * {@code SUCCESS_NO_INFO} for JDBC batches).
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcDeviceBulkWriter implements DeviceBulkWriter {
+
+    static final String INSERT_DEVICES_SQL = """
+            INSERT IGNORE INTO iot_devices
+                (serial_number, model, type, status, battery, last_check_in, sync_status,
+                 owner_id, parking_id, parking_spot_id, created_at, updated_at)
+            VALUES %s
+            """;
+
+    private static final String DEVICE_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int DEVICE_COLUMNS = 12;
+
+    /**
+     * {@code id = LAST_INSERT_ID(id)} leaves an existing row untouched but makes the
+     * driver return its id as the generated key
+     */
+    static final String REGISTER_DEVICE_SQL = """
+            INSERT INTO iot_devices
+                (serial_number, model, type, status, battery, last_check_in, sync_status,
+                 owner_id, parking_id, parking_spot_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)
+            """;
+
+    private static final String SELECT_EXISTING_SQL = "SELECT serial_number FROM iot_devices WHERE serial_number IN (%s)";
+
+    private static final int MAX_IN_CLAUSE = 500;
+    // 500 rows x 12 columns stays well below MySQL's 65535 placeholders per statement
+    private static final int MAX_ROWS_PER_INSERT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serial numbers already stored and duplicates within the chunk are left out before
+     * inserting, so no auto-increment id is spent on them. INSERT IGNORE still covers a
+     * concurrent insert of the same serial number, and such a row is not counted: the
+     * result is the sum of the statements' own update counts.
+     */
+    @Override
+    @Transactional
+    public int insertBatch(List<IotDevice> devices) {
+        if (devices.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> serialNumbers = new LinkedHashSet<>();
+        devices.forEach(d -> serialNumbers.add(d.getSerialNumber()));
+        Set<String> existing = findExisting(serialNumbers);
+
+        Set<String> queued = new HashSet<>();
+        List<IotDevice> fresh = devices.stream()
+                .filter(d -> !existing.contains(d.getSerialNumber()) && queued.add(d.getSerialNumber()))
+                .toList();
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        int inserted = 0;
+        for (int from = 0; from < fresh.size(); from += MAX_ROWS_PER_INSERT) {
+            List<IotDevice> rows = fresh.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, fresh.size()));
+            inserted += jdbcTemplate.update(
+                    INSERT_DEVICES_SQL.formatted(String.join(", ", Collections.nCopies(rows.size(), DEVICE_ROW))),
+                    ps -> {
+                        for (int i = 0; i < rows.size(); i++) {
+                            bindDevice(ps, rows.get(i), now, i * DEVICE_COLUMNS);
+                        }
+                    });
+        }
+        return inserted;
+    }
+
+    private Set<String> findExisting(Collection<String> serialNumbers) {
+        List<String> serials = new ArrayList<>(serialNumbers);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < serials.size(); from += MAX_IN_CLAUSE) {
+            List<String> chunk = serials.subList(from, Math.min(from + MAX_IN_CLAUSE, serials.size()));
+            existing.addAll(jdbcTemplate.queryForList(
+                    SELECT_EXISTING_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?"))),
+                    String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    /**
+     * Insert a device unless its serial number already exists, in a single atomic statement
+     * (concurrent registrations of the same serial number never fail)
+     *
+     * @return id of the stored device, new or existing
+     */
+    public long insertIfAbsent(IotDevice device) {
+        Timestamp now = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REGISTER_DEVICE_SQL, Statement.RETURN_GENERATED_KEYS);
+            bindDevice(ps, device, now, 0);
+            return ps;
+        }, keyHolder);
+
+        Number id = keyHolder.getKey();
+        if (id != null) {
+            return id.longValue();
+        }
+        // Drivers that report no key for an untouched duplicate row
+        return jdbcTemplate.queryForObject("SELECT id FROM iot_devices WHERE serial_number = ?",
+                Long.class, device.getSerialNumber());
+    }
+
+    /**
+     * Bind one device row, starting after parameter {@code offset}
+     */
+    private static void bindDevice(PreparedStatement ps, IotDevice d, Timestamp now, int offset) throws SQLException {
+        ps.setString(offset + 1, d.getSerialNumber());
+        ps.setString(offset + 2, d.getModel());
+        ps.setString(offset + 3, d.getType().name());
+        ps.setString(offset + 4, d.getStatus().name());
+        ps.setInt(offset + 5, d.getBattery());
+        ps.setTimestamp(offset + 6, Timestamp.from(d.getLastCheckIn() != null ? d.getLastCheckIn() : Instant.now()));
+        ps.setString(offset + 7, (d.getSyncStatus() != null ? d.getSyncStatus() : DeviceSyncStatus.DISCONNECTED).name());
+        ps.setString(offset + 8, d.getOwnerId());
+        ps.setString(offset + 9, d.getParkingId());
+        ps.setString(offset + 10, d.getParkingSpotId());
+        ps.setTimestamp(offset + 11, now);
+        ps.setTimestamp(offset + 12, now);
+    }
+}
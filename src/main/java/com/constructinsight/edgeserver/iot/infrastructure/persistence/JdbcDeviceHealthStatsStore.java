@@ -0,0 +1,116 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceHealthStats;
+import com.constructinsight.edgeserver.iot.domain.model.FailingRateSketch;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceHealthStatsStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adapter: JDBC store of device health statistics
+ * One batched upsert per flush, keyed by serial number. The sketch is stored as a
+ * small binary column (2 bytes per bucket).
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcDeviceHealthStatsStore implements DeviceHealthStatsStore {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO device_health_stats
+                (serial_number, samples, ewma_failing_rate, min_failing_rate, max_failing_rate,
+                 failures_since_startup, requests_since_startup, rate_sketch, last_report_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE samples = VALUES(samples),
+                                    ewma_failing_rate = VALUES(ewma_failing_rate),
+                                    min_failing_rate = VALUES(min_failing_rate),
+                                    max_failing_rate = VALUES(max_failing_rate),
+                                    failures_since_startup = VALUES(failures_since_startup),
+                                    requests_since_startup = VALUES(requests_since_startup),
+                                    rate_sketch = VALUES(rate_sketch),
+                                    last_report_at = VALUES(last_report_at)
+            """;
+
+    static final String FIND_ALL_SQL = """
+            SELECT serial_number, samples, ewma_failing_rate, min_failing_rate, max_failing_rate,
+                   failures_since_startup, requests_since_startup, rate_sketch, last_report_at
+              FROM device_health_stats
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<DeviceHealthStats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, stats, stats.size(), JdbcDeviceHealthStatsStore::bind);
+    }
+
+    @Override
+    public List<DeviceHealthStats> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, (rs, rowNum) -> new DeviceHealthStats(
+                rs.getString("serial_number"),
+                rs.getLong("samples"),
+                rs.getDouble("ewma_failing_rate"),
+                rs.getDouble("min_failing_rate"),
+                rs.getDouble("max_failing_rate"),
+                rs.getObject("failures_since_startup", Integer.class),
+                rs.getObject("requests_since_startup", Integer.class),
+                decode(rs.getBytes("rate_sketch")),
+                rs.getTimestamp("last_report_at").toInstant()));
+    }
+
+    @Override
+    public void deleteBySerialNumber(String serialNumber) {
+        jdbcTemplate.update("DELETE FROM device_health_stats WHERE serial_number = ?", serialNumber);
+    }
+
+    private static void bind(PreparedStatement ps, DeviceHealthStats s) throws SQLException {
+        ps.setString(1, s.serialNumber());
+        ps.setLong(2, s.samples());
+        ps.setDouble(3, s.ewmaFailingRate());
+        ps.setDouble(4, s.minFailingRate());
+        ps.setDouble(5, s.maxFailingRate());
+        setNullableInt(ps, 6, s.failuresSinceStartup());
+        setNullableInt(ps, 7, s.requestsSinceStartup());
+        ps.setBytes(8, encode(s.sketch()));
+        ps.setTimestamp(9, Timestamp.from(s.lastReportAt()));
+    }
+
+    static byte[] encode(FailingRateSketch sketch) {
+        // Counts never exceed FailingRateSketch.MAX_TOTAL, so they fit an unsigned short
+        ByteBuffer buffer = ByteBuffer.allocate(FailingRateSketch.BUCKETS * Short.BYTES);
+        for (int count : sketch.counts()) {
+            buffer.putShort((short) count);
+        }
+        return buffer.array();
+    }
+
+    static FailingRateSketch decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] counts = new int[FailingRateSketch.BUCKETS];
+        for (int i = 0; i < counts.length && buffer.remaining() >= Short.BYTES; i++) {
+            counts[i] = Short.toUnsignedInt(buffer.getShort());
+        }
+        return FailingRateSketch.fromCounts(counts);
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceSyncStatusWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter: JDBC bulk writer for device sync status
+ * One {@code UPDATE ... WHERE serial_number IN (...)} per chunk of serial numbers
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcDeviceSyncStatusWriter implements DeviceSyncStatusWriter {
+
+    static final int MAX_IN_CLAUSE = 500;
+
+    private static final String UPDATE_SYNC_STATUS_SQL = """
+            UPDATE iot_devices
+               SET sync_status = ?,
+                   updated_at = ?
+             WHERE sync_status <> ?
+               AND serial_number IN (%s)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeviceSnapshotCache deviceCache;
+
+    @Override
+    @Transactional
+    public int updateSyncStatus(DeviceSyncStatus status, Collection<String> serialNumbers) {
+        if (serialNumbers.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<String> serials = new ArrayList<>(serialNumbers);
+        int updated = 0;
+        for (int from = 0; from < serials.size(); from += MAX_IN_CLAUSE) {
+            List<String> chunk = serials.subList(from, Math.min(from + MAX_IN_CLAUSE, serials.size()));
+            String sql = UPDATE_SYNC_STATUS_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            List<Object> args = new ArrayList<>(chunk.size() + 3);
+            args.add(status.name());
+            args.add(now);
+            args.add(status.name());
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(sql, args.toArray());
+        }
+        deviceCache.evictAll(serials);
+        return updated;
+    }
+}
@@ -0,0 +1,179 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter: JDBC batch writer for device telemetry
+ * Each update is a single {@code INSERT ... ON DUPLICATE KEY UPDATE}: unknown devices are
+ * auto-discovered by the same statement, so concurrent first reports of a sensor cannot
+ * race on the unique serial number
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcDeviceTelemetryWriter implements DeviceTelemetryWriter {
+
+    /**
+     * Auto-discovers unknown devices and updates known ones in one atomic statement.
+     * Nullable telemetry fields are bound twice: insert defaults and "keep current" on update.
+     * A report without status is resolved against the locked row, so ingestion never reads
+     * it: OFFLINE comes back ONLINE, any other status is kept (see DeviceStatus#afterCheckIn).
+     */
+    static final String UPSERT_TELEMETRY_SQL = """
+            INSERT INTO iot_devices
+                (serial_number, model, type, status, battery, last_check_in, sync_status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                battery = COALESCE(?, battery),
+                status = COALESCE(?, CASE WHEN status = 'OFFLINE' THEN 'ONLINE' ELSE status END),
+                last_check_in = VALUES(last_check_in),
+                updated_at = VALUES(updated_at)
+            """;
+
+    static final String INSERT_DISCOVERED_SQL = """
+            INSERT IGNORE INTO iot_devices
+                (serial_number, model, type, status, battery, last_check_in, sync_status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Locks the rows that are still due, so the UPDATE below changes exactly the selected ones
+     */
+    private static final String SELECT_DUE_OFFLINE_SQL = """
+            SELECT serial_number
+              FROM iot_devices
+             WHERE status = 'ONLINE'
+               AND last_check_in < ?
+               AND serial_number IN (%s)
+               FOR UPDATE
+            """;
+
+    private static final String MARK_OFFLINE_SQL = """
+            UPDATE iot_devices
+               SET status = 'OFFLINE',
+                   updated_at = ?
+             WHERE status = 'ONLINE'
+               AND last_check_in < ?
+               AND serial_number IN (%s)
+            """;
+
+    private static final int MAX_IN_CLAUSE = 500;
+    private static final String DISCOVERED_MODEL = "Auto-Discovered";
+    private static final int DEFAULT_BATTERY = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeviceSnapshotCache deviceCache;
+
+    @Override
+    @Transactional
+    public void writeAll(List<DeviceTelemetryUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_TELEMETRY_SQL, updates, updates.size(), (ps, u) -> bindUpsert(ps, u, now));
+        updates.forEach(u -> deviceCache.evict(u.serialNumber()));
+    }
+
+    @Override
+    @Transactional
+    public void insertDiscovered(List<DeviceTelemetryUpdate> discovered) {
+        if (discovered.isEmpty()) {
+            return;
+        }
+
+        log.info("🆕 [Telemetry] Auto-creando {} dispositivos descubiertos", discovered.size());
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_DISCOVERED_SQL, discovered, discovered.size(), (ps, u) -> {
+            ps.setString(1, u.serialNumber());
+            ps.setString(2, DISCOVERED_MODEL);
+            ps.setString(3, DeviceType.SENSOR.name());
+            ps.setString(4, (u.status() != null ? u.status() : DeviceStatus.ONLINE).name());
+            ps.setInt(5, u.battery() != null ? u.battery() : DEFAULT_BATTERY);
+            ps.setTimestamp(6, Timestamp.from(u.lastCheckIn()));
+            ps.setString(7, DeviceSyncStatus.DISCONNECTED.name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<String> markOffline(Collection<String> serialNumbers, Instant checkedInBefore) {
+        if (serialNumbers.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp cutoff = Timestamp.from(checkedInBefore);
+        List<String> serials = new ArrayList<>(serialNumbers);
+        List<String> marked = new ArrayList<>();
+        for (int from = 0; from < serials.size(); from += MAX_IN_CLAUSE) {
+            List<String> chunk = serials.subList(from, Math.min(from + MAX_IN_CLAUSE, serials.size()));
+
+            List<Object> selectArgs = new ArrayList<>(chunk.size() + 1);
+            selectArgs.add(cutoff);
+            selectArgs.addAll(chunk);
+            List<String> due = jdbcTemplate.queryForList(
+                    SELECT_DUE_OFFLINE_SQL.formatted(placeholders(chunk.size())), String.class, selectArgs.toArray());
+            if (due.isEmpty()) {
+                continue;
+            }
+
+            List<Object> updateArgs = new ArrayList<>(due.size() + 2);
+            updateArgs.add(now);
+            updateArgs.add(cutoff);
+            updateArgs.addAll(due);
+            jdbcTemplate.update(MARK_OFFLINE_SQL.formatted(placeholders(due.size())), updateArgs.toArray());
+            marked.addAll(due);
+        }
+        deviceCache.evictAll(serials);
+        return marked;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void bindUpsert(PreparedStatement ps, DeviceTelemetryUpdate u, Timestamp now) throws SQLException {
+        ps.setString(1, u.serialNumber());
+        ps.setString(2, DISCOVERED_MODEL);
+        ps.setString(3, DeviceType.SENSOR.name());
+        ps.setString(4, (u.status() != null ? u.status() : DeviceStatus.ONLINE).name());
+        ps.setInt(5, u.battery() != null ? u.battery() : DEFAULT_BATTERY);
+        ps.setTimestamp(6, Timestamp.from(u.lastCheckIn()));
+        ps.setString(7, DeviceSyncStatus.DISCONNECTED.name());
+        ps.setTimestamp(8, now);
+        ps.setTimestamp(9, now);
+        setNullableInt(ps, 10, u.battery());
+        ps.setString(11, u.status() != null ? u.status().name() : null);
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.OccupancySyncEntry;
+import com.constructinsight.edgeserver.iot.domain.port.OccupancySyncOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Adapter: JDBC outbox table for occupancy sync
+ * Upserts keyed by serial number keep only the latest state per sensor (compaction);
+ * deletes are conditional on the sequence so a state stored after the read survives.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcOccupancySyncOutbox implements OccupancySyncOutbox {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO backend_sync_outbox (serial_number, occupied, seq_no, enqueued_at)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE occupied = VALUES(occupied),
+                                    seq_no = VALUES(seq_no),
+                                    enqueued_at = VALUES(enqueued_at)
+            """;
+
+    static final String FETCH_OLDEST_SQL = """
+            SELECT serial_number, occupied, seq_no
+              FROM backend_sync_outbox
+             ORDER BY seq_no
+             LIMIT ?
+            """;
+
+    static final String DELETE_DELIVERED_SQL =
+            "DELETE FROM backend_sync_outbox WHERE serial_number = ? AND seq_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void appendAll(List<OccupancySyncEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.serialNumber());
+            ps.setBoolean(2, entry.occupied());
+            ps.setLong(3, entry.sequence());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    @Override
+    public List<OccupancySyncEntry> fetchOldest(int limit) {
+        return jdbcTemplate.query(FETCH_OLDEST_SQL, (rs, rowNum) -> new OccupancySyncEntry(
+                rs.getString("serial_number"),
+                rs.getBoolean("occupied"),
+                rs.getLong("seq_no")), limit);
+    }
+
+    @Override
+    @Transactional
+    public int removeDelivered(List<OccupancySyncEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_DELIVERED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.serialNumber());
+            ps.setLong(2, entry.sequence());
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    @Override
+    public long maxSequence() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq_no) FROM backend_sync_outbox", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM backend_sync_outbox", Long.class);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,179 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryRollup;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetrySample;
+import com.constructinsight.edgeserver.iot.domain.port.TelemetryHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adapter: JDBC telemetry history (append-only samples + additive rollups)
+ * Samples are only ever inserted in batches and deleted by age. Rollup deltas are added
+ * to their bucket with one batched upsert on the (serial, resolution, bucket) unique key,
+ * so concurrent or repeated flushes never read-modify-write a row.
+ * Reads are range scans on the composite indexes, touching only the rows of one device
+ * and time window.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcTelemetryHistoryStore implements TelemetryHistoryStore {
+
+    static final String INSERT_SAMPLE_SQL = """
+            INSERT INTO telemetry_samples
+                (serial_number, sampled_at, battery, status, occupied, failures, requests, failing_rate)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String MERGE_ROLLUP_SQL = """
+            INSERT INTO telemetry_rollups
+                (serial_number, resolution, bucket_start, sample_count, battery_count, battery_sum,
+                 battery_min, battery_max, failures, requests, occupied_count, error_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sample_count = sample_count + VALUES(sample_count),
+                battery_count = battery_count + VALUES(battery_count),
+                battery_sum = battery_sum + VALUES(battery_sum),
+                battery_min = LEAST(COALESCE(battery_min, VALUES(battery_min)), COALESCE(VALUES(battery_min), battery_min)),
+                battery_max = GREATEST(COALESCE(battery_max, VALUES(battery_max)), COALESCE(VALUES(battery_max), battery_max)),
+                failures = failures + VALUES(failures),
+                requests = requests + VALUES(requests),
+                occupied_count = occupied_count + VALUES(occupied_count),
+                error_count = error_count + VALUES(error_count)
+            """;
+
+    static final String FIND_SAMPLES_SQL = """
+            SELECT serial_number, sampled_at, battery, status, occupied, failures, requests, failing_rate
+              FROM telemetry_samples
+             WHERE serial_number = ? AND sampled_at >= ? AND sampled_at < ?
+             ORDER BY sampled_at
+             LIMIT ?
+            """;
+
+    static final String FIND_ROLLUPS_SQL = """
+            SELECT serial_number, resolution, bucket_start, sample_count, battery_count, battery_sum,
+                   battery_min, battery_max, failures, requests, occupied_count, error_count
+              FROM telemetry_rollups
+             WHERE serial_number = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ?
+             ORDER BY bucket_start
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void append(List<TelemetrySample> samples, Collection<TelemetryRollup> rollupDeltas) {
+        if (!samples.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SAMPLE_SQL, samples, samples.size(), JdbcTelemetryHistoryStore::bindSample);
+        }
+        if (!rollupDeltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_ROLLUP_SQL, rollupDeltas, rollupDeltas.size(),
+                    JdbcTelemetryHistoryStore::bindRollup);
+        }
+    }
+
+    @Override
+    public List<TelemetrySample> findSamples(String serialNumber, Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(FIND_SAMPLES_SQL, (rs, rowNum) -> new TelemetrySample(
+                rs.getString("serial_number"),
+                rs.getTimestamp("sampled_at").toInstant(),
+                rs.getObject("battery", Integer.class),
+                status(rs),
+                rs.getObject("occupied", Boolean.class),
+                rs.getObject("failures", Integer.class),
+                rs.getObject("requests", Integer.class),
+                rs.getObject("failing_rate", Double.class)),
+                serialNumber, Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    @Override
+    public List<TelemetryRollup> findRollups(String serialNumber, TelemetryResolution resolution,
+                                             Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(FIND_ROLLUPS_SQL, (rs, rowNum) -> new TelemetryRollup(
+                rs.getString("serial_number"),
+                TelemetryResolution.valueOf(rs.getString("resolution")),
+                rs.getTimestamp("bucket_start").toInstant(),
+                rs.getLong("sample_count"),
+                rs.getLong("battery_count"),
+                rs.getLong("battery_sum"),
+                rs.getObject("battery_min", Integer.class),
+                rs.getObject("battery_max", Integer.class),
+                rs.getLong("failures"),
+                rs.getLong("requests"),
+                rs.getLong("occupied_count"),
+                rs.getLong("error_count")),
+                serialNumber, resolution.name(), Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    @Override
+    public int deleteSamplesBefore(Instant cutoff, int limit) {
+        // Bounded deletes keep each statement short so ingestion is not blocked behind a purge
+        return jdbcTemplate.update("DELETE FROM telemetry_samples WHERE sampled_at < ? LIMIT ?",
+                Timestamp.from(cutoff), limit);
+    }
+
+    @Override
+    public int deleteRollupsBefore(TelemetryResolution resolution, Instant cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM telemetry_rollups WHERE resolution = ? AND bucket_start < ? LIMIT ?",
+                resolution.name(), Timestamp.from(cutoff), limit);
+    }
+
+    @Override
+    @Transactional
+    public void deleteBySerialNumber(String serialNumber) {
+        jdbcTemplate.update("DELETE FROM telemetry_samples WHERE serial_number = ?", serialNumber);
+        jdbcTemplate.update("DELETE FROM telemetry_rollups WHERE serial_number = ?", serialNumber);
+    }
+
+    private static void bindSample(PreparedStatement ps, TelemetrySample s) throws SQLException {
+        ps.setString(1, s.serialNumber());
+        ps.setTimestamp(2, Timestamp.from(s.sampledAt()));
+        setNullable(ps, 3, s.battery(), Types.INTEGER);
+        ps.setString(4, s.status() != null ? s.status().name() : null);
+        setNullable(ps, 5, s.occupied(), Types.BOOLEAN);
+        setNullable(ps, 6, s.failures(), Types.INTEGER);
+        setNullable(ps, 7, s.requests(), Types.INTEGER);
+        setNullable(ps, 8, s.failingRate(), Types.DOUBLE);
+    }
+
+    private static void bindRollup(PreparedStatement ps, TelemetryRollup r) throws SQLException {
+        ps.setString(1, r.serialNumber());
+        ps.setString(2, r.resolution().name());
+        ps.setTimestamp(3, Timestamp.from(r.bucketStart()));
+        ps.setLong(4, r.sampleCount());
+        ps.setLong(5, r.batteryCount());
+        ps.setLong(6, r.batterySum());
+        setNullable(ps, 7, r.batteryMin(), Types.INTEGER);
+        setNullable(ps, 8, r.batteryMax(), Types.INTEGER);
+        ps.setLong(9, r.failures());
+        ps.setLong(10, r.requests());
+        ps.setLong(11, r.occupiedCount());
+        ps.setLong(12, r.errorCount());
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value != null) {
+            ps.setObject(index, value, sqlType);
+        } else {
+            ps.setNull(index, sqlType);
+        }
+    }
+
+    private static DeviceStatus status(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return status != null ? DeviceStatus.valueOf(status) : null;
+    }
+}
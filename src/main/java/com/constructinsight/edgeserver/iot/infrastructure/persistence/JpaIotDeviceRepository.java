@@ -1,9 +1,20 @@
 package com.constructinsight.edgeserver.iot.infrastructure.persistence;
 
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +27,85 @@ public interface JpaIotDeviceRepository extends JpaRepository<IotDevice, Long> {
 
     Optional<IotDevice> findBySerialNumber(String serialNumber);
 
-    List<IotDevice> findAllByOwnerId(String ownerId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM IotDevice d WHERE d.serialNumber = :serialNumber")
+    Optional<IotDevice> findForUpdateBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    @Query("SELECT d.serialNumber FROM IotDevice d WHERE d.serialNumber IN :serialNumbers")
+    List<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceView(
+                d.id, d.serialNumber, d.model, d.type, d.status, d.battery, d.lastCheckIn, d.syncStatus,
+                d.ownerId, d.parkingId, d.parkingSpotId, d.createdAt, d.updatedAt)
+            FROM IotDevice d
+            WHERE d.parkingId = :parkingId AND d.ownerId = :ownerId
+            ORDER BY d.id
+            """)
+    List<DeviceView> findByParkingIdAndOwnerId(@Param("parkingId") String parkingId,
+                                               @Param("ownerId") String ownerId);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceView(
+                d.id, d.serialNumber, d.model, d.type, d.status, d.battery, d.lastCheckIn, d.syncStatus,
+                d.ownerId, d.parkingId, d.parkingSpotId, d.createdAt, d.updatedAt)
+            FROM IotDevice d
+            WHERE d.parkingId = :parkingId AND d.ownerId = :ownerId AND d.status = :status
+            ORDER BY d.id
+            """)
+    List<DeviceView> findByParkingIdAndOwnerIdAndStatus(@Param("parkingId") String parkingId,
+                                                        @Param("ownerId") String ownerId,
+                                                        @Param("status") DeviceStatus status);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceView(
+                d.id, d.serialNumber, d.model, d.type, d.status, d.battery, d.lastCheckIn, d.syncStatus,
+                d.ownerId, d.parkingId, d.parkingSpotId, d.createdAt, d.updatedAt)
+            FROM IotDevice d
+            WHERE d.parkingId = :parkingId AND d.parkingSpotId = :parkingSpotId AND d.ownerId = :ownerId
+            ORDER BY d.id
+            """)
+    List<DeviceView> findByParkingIdAndParkingSpotIdAndOwnerId(@Param("parkingId") String parkingId,
+                                                               @Param("parkingSpotId") String parkingSpotId,
+                                                               @Param("ownerId") String ownerId);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot(
+                COUNT(d),
+                SUM(CASE WHEN d.status = :online THEN 1L ELSE 0L END),
+                SUM(CASE WHEN d.status = :offline THEN 1L ELSE 0L END),
+                SUM(CASE WHEN d.battery < :lowBatteryThreshold THEN 1L ELSE 0L END),
+                SUM(CAST(d.battery AS Long)))
+            FROM IotDevice d
+            WHERE d.ownerId = :ownerId
+            """)
+    DeviceKpiSnapshot aggregateKpisByOwnerId(@Param("ownerId") String ownerId,
+                                             @Param("lowBatteryThreshold") int lowBatteryThreshold,
+                                             @Param("online") DeviceStatus online,
+                                             @Param("offline") DeviceStatus offline);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState(
+                d.serialNumber, d.ownerId, d.status, d.battery)
+            FROM IotDevice d
+            WHERE d.ownerId IS NOT NULL
+            """)
+    List<OwnedDeviceState> findOwnedDeviceStates();
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn(d.serialNumber, d.lastCheckIn)
+            FROM IotDevice d
+            WHERE d.status = :status
+            """)
+    List<DeviceCheckIn> findCheckInsByStatus(@Param("status") DeviceStatus status);
+
+    @Query("""
+            SELECT new com.constructinsight.edgeserver.iot.domain.model.SpotPlacement(
+                d.serialNumber, d.parkingId, d.parkingSpotId)
+            FROM IotDevice d
+            WHERE d.parkingId IS NOT NULL AND d.parkingSpotId IS NOT NULL
+            """)
+    List<SpotPlacement> findSpotPlacements();
 
     boolean existsBySerialNumber(String serialNumber);
 
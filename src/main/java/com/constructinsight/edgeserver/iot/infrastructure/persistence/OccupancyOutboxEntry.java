@@ -0,0 +1,37 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Table mapping for the occupancy sync outbox
+ * Read and written through {@link JdbcOccupancySyncOutbox}; mapped here so the
+ * schema is managed together with the rest of the model.
+ */
+@Entity
+@Table(name = "backend_sync_outbox",
+       indexes = @Index(name = "idx_outbox_seq_no", columnList = "seqNo"))
+@Getter
+@NoArgsConstructor
+public class OccupancyOutboxEntry {
+
+    @Id
+    @Column(length = 100)
+    private String serialNumber;
+
+    @Column(nullable = false)
+    private boolean occupied;
+
+    @Column(nullable = false)
+    private long seqNo;
+
+    @Column(nullable = false)
+    private Instant enqueuedAt;
+}
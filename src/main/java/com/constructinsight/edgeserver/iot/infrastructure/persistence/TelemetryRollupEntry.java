@@ -0,0 +1,71 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Table mapping for downsampled telemetry rollups
+ * Read and written through {@link JdbcTelemetryHistoryStore}; the unique key is what
+ * the additive upsert of each bucket relies on.
+ */
+@Entity
+@Table(name = "telemetry_rollups",
+       indexes = {
+           @Index(name = "idx_rollups_bucket", columnList = "serialNumber, resolution, bucketStart", unique = true),
+           @Index(name = "idx_rollups_retention", columnList = "resolution, bucketStart")
+       })
+@Getter
+@NoArgsConstructor
+public class TelemetryRollupEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String serialNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TelemetryResolution resolution;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false)
+    private long batteryCount;
+
+    @Column(nullable = false)
+    private long batterySum;
+
+    private Integer batteryMin;
+
+    private Integer batteryMax;
+
+    @Column(nullable = false)
+    private long failures;
+
+    @Column(nullable = false)
+    private long requests;
+
+    @Column(nullable = false)
+    private long occupiedCount;
+
+    @Column(nullable = false)
+    private long errorCount;
+}
@@ -0,0 +1,57 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Table mapping for raw telemetry history samples
+ * Read and written through {@link JdbcTelemetryHistoryStore}; mapped here so the
+ * schema is managed together with the rest of the model.
+ * (serialNumber, sampledAt) serves per-device range reads, sampledAt the retention deletes.
+ */
+@Entity
+@Table(name = "telemetry_samples",
+       indexes = {
+           @Index(name = "idx_samples_serial_time", columnList = "serialNumber, sampledAt"),
+           @Index(name = "idx_samples_time", columnList = "sampledAt")
+       })
+@Getter
+@NoArgsConstructor
+public class TelemetrySampleEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String serialNumber;
+
+    @Column(nullable = false)
+    private Instant sampledAt;
+
+    private Integer battery;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private DeviceStatus status;
+
+    private Boolean occupied;
+
+    private Integer failures;
+
+    private Integer requests;
+
+    private Double failingRate;
+}
@@ -0,0 +1,28 @@
+package com.constructinsight.edgeserver.iot.infrastructure.telemetry;
+
+import java.time.Instant;
+
+/**
+ * DTO: Reporte de telemetría del dispositivo
+ * Formato común a todos los canales de ingesta (cuerpo de POST /api/iot/telemetry y JSON por MQTT)
+ */
+public record DeviceTelemetryReport(
+        String serialNumber,
+        String status,
+        Integer battery,
+        Instant checkedAt,
+        Boolean occupied,
+        HealthMonitor healthMonitor
+) {
+
+    /**
+     * DTO: Métricas de salud del dispositivo (opcional)
+     */
+    public record HealthMonitor(
+            Integer failuresSinceStartup,
+            Integer failuresSinceLastCheckup,
+            Integer requestsSinceLastCheckup,
+            Integer requestsSinceStartup,
+            Double failingRate
+    ) {}
+}
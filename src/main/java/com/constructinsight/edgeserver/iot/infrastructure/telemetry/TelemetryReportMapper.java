@@ -0,0 +1,52 @@
+package com.constructinsight.edgeserver.iot.infrastructure.telemetry;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthReport;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.DeviceTelemetryReport.HealthMonitor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for telemetry reports sent by devices
+ * Shared by every ingestion channel (REST, MQTT) so they apply the same rules
+ */
+@Component
+public class TelemetryReportMapper {
+
+    /**
+     * Convert a device report into an ingestion command.
+     * A missing status stays null so the stored status is kept.
+     */
+    public TelemetryReportCommand toCommand(DeviceTelemetryReport report) {
+        return new TelemetryReportCommand(
+                report.serialNumber(),
+                report.status() != null ? mapStatus(report.status()) : null,
+                report.battery(),
+                report.checkedAt(),
+                report.occupied(),
+                report.healthMonitor() != null ? toHealth(report.healthMonitor()) : null);
+    }
+
+    private DeviceHealthReport toHealth(HealthMonitor health) {
+        return new DeviceHealthReport(
+                health.failuresSinceStartup(),
+                health.failuresSinceLastCheckup(),
+                health.requestsSinceLastCheckup(),
+                health.requestsSinceStartup(),
+                health.failingRate());
+    }
+
+    /**
+     * Mapea string a DeviceStatus enum
+     */
+    public DeviceStatus mapStatus(String s) {
+        if (s == null) return DeviceStatus.ONLINE;
+        return switch (s.toLowerCase()) {
+            case "online" -> DeviceStatus.ONLINE;
+            case "offline" -> DeviceStatus.OFFLINE;
+            case "maintenance" -> DeviceStatus.MAINTENANCE;
+            case "error" -> DeviceStatus.ERROR;
+            default -> DeviceStatus.ONLINE;
+        };
+    }
+}
@@ -16,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
-import java.util.Optional;
 
 /**
  * Controller para registro de dispositivos IoT simulados
@@ -51,32 +50,25 @@ public class DeviceRegistrationController {
     public ResponseEntity<RegisterDeviceResponse> register(@RequestBody RegisterDeviceRequest req) {
         log.info("📡 [Device Registration] Registrando sensor: {}", req.serialNumber());
 
-        // Buscar si ya existe
-        Optional<IotDevice> existing = repo.findBySerialNumber(req.serialNumber());
+        IotDevice d = new IotDevice();
+        d.setSerialNumber(req.serialNumber());
+        d.setModel(req.model() != null ? req.model() : "Unknown");
+        d.setType(mapType(req.type()));
+        d.setStatus(mapStatus(req.status()));
+        d.setBattery(100);
+        d.setOwnerId(null);  // 🔑 CRUCIAL: Sin propietario, dispositivo libre
+        d.setParkingId(req.parkingId());
+        d.setParkingSpotId(req.parkingSpotId());
+        d.setLastCheckIn(Instant.now());
 
-        IotDevice device = existing.orElseGet(() -> {
-            log.info("✨ [Device Registration] Creando nuevo dispositivo: {}", req.serialNumber());
+        // Una sola sentencia atómica: si ya existe se conserva tal cual (sin carrera entre registros)
+        long id = repo.registerIfAbsent(d);
 
-            IotDevice d = new IotDevice();
-            d.setSerialNumber(req.serialNumber());
-            d.setModel(req.model() != null ? req.model() : "Unknown");
-            d.setType(mapType(req.type()));
-            d.setStatus(mapStatus(req.status()));
-            d.setBattery(100);
-            d.setOwnerId(null);  // 🔑 CRUCIAL: Sin propietario, dispositivo libre
-            d.setParkingId(req.parkingId());
-            d.setParkingSpotId(req.parkingSpotId());
-            d.setLastCheckIn(Instant.now());
-
-            return repo.save(d);
-        });
-
-        log.info("✅ [Device Registration] Dispositivo registrado: {} (ID: {})",
-                device.getSerialNumber(), device.getId());
+        log.info("✅ [Device Registration] Dispositivo registrado: {} (ID: {})", req.serialNumber(), id);
 
         RegisterDeviceResponse resp = new RegisterDeviceResponse(
-                device.getId() != null ? device.getId().toString() : device.getSerialNumber(),
-                device.getSerialNumber(),
+                String.valueOf(id),
+                req.serialNumber(),
                 ""  // deviceToken no usado por ahora, futuro: generar token JWT
         );
 
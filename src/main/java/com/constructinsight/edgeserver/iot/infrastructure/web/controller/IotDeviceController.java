@@ -1,28 +1,52 @@
 package com.constructinsight.edgeserver.iot.infrastructure.web.controller;
 
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthDto;
+import com.constructinsight.edgeserver.iot.application.dto.DeviceImportSummary;
 import com.constructinsight.edgeserver.iot.application.dto.DeviceKpiDto;
+import com.constructinsight.edgeserver.iot.application.dto.DevicePage;
+import com.constructinsight.edgeserver.iot.application.service.DeviceHealthTracker;
+import com.constructinsight.edgeserver.iot.application.service.DeviceImportService;
 import com.constructinsight.edgeserver.iot.application.service.DeviceManagementService;
 import com.constructinsight.edgeserver.iot.application.service.DeviceOwnershipService;
 import com.constructinsight.edgeserver.iot.application.service.DeviceQueryService;
+import com.constructinsight.edgeserver.iot.application.service.TelemetryHistoryService;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
 import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
 import com.constructinsight.edgeserver.iot.infrastructure.web.dto.BindDeviceRequestDto;
 import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceRequestDto;
 import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceResponseDto;
+import com.constructinsight.edgeserver.iot.infrastructure.web.importer.DeviceImportReader;
 import com.constructinsight.edgeserver.iot.infrastructure.web.mapper.IotDeviceMapper;
+import com.constructinsight.edgeserver.iot.infrastructure.web.stream.DeviceChangeStreamHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -36,31 +60,56 @@ import java.util.List;
 @Tag(name = "IoT Devices", description = "API para gestión de dispositivos IoT con controles de privacidad")
 public class IotDeviceController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final DeviceOwnershipService ownershipService;
     private final DeviceQueryService queryService;
     private final IotDeviceRepository deviceRepository;
     private final IotDeviceMapper deviceMapper;
     private final DeviceManagementService managementService;
+    private final DeviceImportService importService;
+    private final DeviceImportReader importReader;
+    private final ObjectMapper objectMapper;
+    private final DeviceChangeStreamHub streamHub;
+    private final TelemetryHistoryService historyService;
+    private final DeviceHealthTracker healthTracker;
 
     /**
      * GET /api/iot/devices
-     * Retrieve all devices owned by the user
+     * Retrieve devices owned by the user: all of them, or one keyset page at a time when cursor or limit is given
+     * The cursor of the next page is returned in the X-Next-Cursor header (absent on the last page)
      */
     @Operation(
             summary = "Obtener dispositivos del usuario",
-            description = "Retorna todos los dispositivos IoT que pertenecen al usuario especificado. " +
-                          "Solo se retornan dispositivos donde ownerId coincide con el userId proporcionado (Privacy Filter)."
+            description = "Retorna los dispositivos IoT que pertenecen al usuario especificado, opcionalmente paginados por cursor. " +
+                          "Sin cursor ni limit se retornan todos los dispositivos en una sola respuesta. " +
+                          "Solo se retornan dispositivos donde ownerId coincide con el userId proporcionado (Privacy Filter). " +
+                          "Si hay más resultados, el header X-Next-Cursor contiene el cursor de la siguiente página."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de dispositivos obtenida exitosamente"),
-            @ApiResponse(responseCode = "400", description = "userId no proporcionado", content = @Content)
+            @ApiResponse(responseCode = "200", description = "Página de dispositivos obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado o filtros inválidos", content = @Content)
     })
     @GetMapping
     public ResponseEntity<List<IotDeviceResponseDto>> getUserDevices(
             @Parameter(description = "ID del usuario (desde header)", example = "alice")
             @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
             @Parameter(description = "ID del usuario (desde query param)", example = "alice")
-            @RequestParam(value = "userId", required = false) String paramUserId) {
+            @RequestParam(value = "userId", required = false) String paramUserId,
+            @Parameter(description = "Cursor devuelto en X-Next-Cursor por la página anterior")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 1000); sin cursor ni limit se retorna la lista completa", example = "100")
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @Parameter(description = "Filtrar por estado", example = "ONLINE")
+            @RequestParam(value = "status", required = false) DeviceStatus status,
+            @Parameter(description = "Filtrar por tipo", example = "SENSOR")
+            @RequestParam(value = "type", required = false) DeviceType type,
+            @Parameter(description = "Filtrar por parking", example = "PARKING-001")
+            @RequestParam(value = "parkingId", required = false) String parkingId,
+            @Parameter(description = "Batería mínima (inclusive)", example = "0")
+            @RequestParam(value = "minBattery", required = false) Integer minBattery,
+            @Parameter(description = "Batería máxima (inclusive)", example = "20")
+            @RequestParam(value = "maxBattery", required = false) Integer maxBattery) {
 
         // Extract userId from header or query parameter
         String userId = headerUserId != null ? headerUserId : paramUserId;
@@ -70,11 +119,55 @@ public class IotDeviceController {
             return ResponseEntity.badRequest().build();
         }
 
-        log.info("Fetching devices for user: {}", userId);
-        List<IotDevice> devices = queryService.findAllByUser(userId);
-        List<IotDeviceResponseDto> response = deviceMapper.toResponseDtoList(devices);
+        log.info("Fetching devices for user: {} (cursor: {})", userId, cursor);
+        try {
+            DeviceSearchCriteria criteria = new DeviceSearchCriteria(
+                    userId, status, type, parkingId, minBattery, maxBattery);
+            DevicePage page = queryService.findPageByUser(criteria, cursor, limit);
 
-        return ResponseEntity.ok(response);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(deviceMapper.viewsToResponseDtoList(page.devices()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid device listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/iot/devices/stream
+     * Server-Sent Events stream of live changes of the user's devices
+     */
+    @Operation(
+            summary = "Stream de cambios de dispositivos (SSE)",
+            description = "Abre una conexión Server-Sent Events que envía solo los cambios (telemetría, ocupación, " +
+                          "vinculación, desvinculación y borrado) de los dispositivos del usuario. " +
+                          "Los clientes demasiado lentos son desconectados y deben reconectar."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream abierto"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Máximo de conexiones alcanzado", content = @Content)
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDeviceChanges(
+            @Parameter(description = "ID del usuario (desde header)", example = "alice")
+            @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
+            @Parameter(description = "ID del usuario (desde query param)", example = "alice")
+            @RequestParam(value = "userId", required = false) String paramUserId) {
+
+        String userId = headerUserId != null ? headerUserId : paramUserId;
+
+        if (userId == null || userId.isBlank()) {
+            log.warn("Missing userId in stream request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        return streamHub.subscribe(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     /**
@@ -109,6 +202,107 @@ public class IotDeviceController {
         return ResponseEntity.ok(kpis);
     }
 
+    /**
+     * GET /api/iot/devices/health/worst
+     * Devices with the highest failing rate (EWMA), from the in-memory health statistics
+     */
+    @Operation(
+            summary = "Ranking de dispositivos con peor salud",
+            description = "Retorna los K dispositivos con mayor tasa de fallos (media móvil exponencial), junto con " +
+                          "mínimo, máximo y percentiles aproximados (p50/p95/p99) calculados a partir del healthMonitor " +
+                          "que envían los sensores. Solo se consideran dispositivos donde ownerId coincide con el " +
+                          "userId proporcionado (Privacy Filter)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking obtenido exitosamente"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado o limit inválido", content = @Content)
+    })
+    @GetMapping("/health/worst")
+    public ResponseEntity<List<DeviceHealthDto>> getWorstDevices(
+            @Parameter(description = "ID del usuario (desde header)", example = "alice")
+            @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
+            @Parameter(description = "ID del usuario (desde query param)", example = "alice")
+            @RequestParam(value = "userId", required = false) String paramUserId,
+            @Parameter(description = "Número de dispositivos (por defecto 10, máximo 100)", example = "10")
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        String userId = headerUserId != null ? headerUserId : paramUserId;
+
+        if (userId == null || userId.isBlank()) {
+            log.warn("Missing userId in health ranking request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            log.info("Ranking {} worst devices for user: {}", limit, userId);
+            return ResponseEntity.ok(healthTracker.worstDevices(limit, userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid health ranking request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/iot/devices/{serialNumber}/telemetry
+     * Telemetry history of one of the user's devices (raw samples or 1m/1h/1d rollups)
+     */
+    @Operation(
+            summary = "Historial de telemetría del dispositivo",
+            description = "Retorna la batería, tasa de fallos y ocupación del dispositivo en el rango [from, to), " +
+                          "como muestras crudas (RAW) o agregados por minuto, hora o día. Si no se indica resolución " +
+                          "se elige la más fina que sigue retenida para el rango y cabe en el máximo de puntos. " +
+                          "CONTROL DE PRIVACIDAD: solo el propietario del dispositivo puede consultarlo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Historial obtenido exitosamente"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado o rango inválido", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Usuario no es el propietario (Security)", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Dispositivo no encontrado", content = @Content)
+    })
+    @GetMapping("/{serialNumber}/telemetry")
+    public ResponseEntity<?> getTelemetryHistory(
+            @Parameter(description = "Número de serie del dispositivo", example = "SENSOR-001")
+            @PathVariable String serialNumber,
+            @Parameter(description = "ID del usuario propietario", example = "alice")
+            @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
+            @Parameter(description = "ID del usuario propietario", example = "alice")
+            @RequestParam(value = "userId", required = false) String paramUserId,
+            @Parameter(description = "Inicio del rango, inclusive (por defecto un día antes de 'to')",
+                       example = "2025-01-01T00:00:00Z")
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Fin del rango, exclusivo (por defecto ahora)", example = "2025-01-02T00:00:00Z")
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Resolución: RAW, MINUTE, HOUR o DAY (por defecto automática)", example = "HOUR")
+            @RequestParam(value = "resolution", required = false) TelemetryResolution resolution) {
+
+        String userId = headerUserId != null ? headerUserId : paramUserId;
+
+        if (userId == null || userId.isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("User ID is required"));
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("'from' must be before 'to'"));
+        }
+
+        try {
+            log.info("Fetching telemetry history of device {} for user {} ({} - {}, {})",
+                    serialNumber, userId, from, to, resolution);
+            return ResponseEntity.ok(historyService.history(serialNumber, userId, from, to, resolution));
+        } catch (IllegalArgumentException e) {
+            log.error("Telemetry history failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (SecurityException e) {
+            log.error("Telemetry history failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     /**
      * POST /api/iot/devices/{serialNumber}/bind
      * Bind a device to a user (establish ownership)
@@ -232,6 +426,91 @@ public class IotDeviceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/iot/devices/import
+     * Admin endpoint: High-throughput bulk import (JDBC multi-row inserts, chunked commits)
+     */
+    @Operation(
+            summary = "Importación masiva de alto rendimiento (Admin)",
+            description = "Importa un array JSON de dispositivos leyéndolo de forma incremental e insertándolo " +
+                          "en lotes JDBC con commit por bloque. Los números de serie ya registrados se omiten. " +
+                          "Los elementos que no son un dispositivo válido se cuentan como rechazados. " +
+                          "Retorna un resumen (insertados, omitidos, rechazados, filas/segundo)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Importación completada"),
+            @ApiResponse(responseCode = "400", description = "Payload inválido; si el JSON se corta a mitad, " +
+                    "el cuerpo es el resumen de lo ya importado con el campo error")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importDevices(InputStream body) throws IOException {
+        try {
+            DeviceImportSummary summary = importService.importDevices(importReader.jsonArray(body));
+            if (summary.getError() != null) {
+                // Earlier chunks are committed: report them along with the error
+                log.error("Import stopped: {}", summary.getError());
+                return ResponseEntity.badRequest().body(summary);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(summary);
+        } catch (IllegalArgumentException e) {
+            log.error("Import failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/iot/devices/import (NDJSON / CSV)
+     * Admin endpoint: Streaming import with progress reported as NDJSON
+     */
+    @Operation(
+            summary = "Importación masiva en streaming NDJSON/CSV (Admin)",
+            description = "Importa dispositivos desde NDJSON (un objeto por línea) o CSV con cabecera " +
+                          "(serialNumber,model,type,status,battery[,lastCheckIn]). La lectura e inserción se hacen " +
+                          "por bloques, con memoria constante. La respuesta es un stream NDJSON con el progreso " +
+                          "tras cada bloque y un resumen final (completed=true). Las líneas inválidas se cuentan como rechazadas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Importación en curso; progreso en el cuerpo"),
+            @ApiResponse(responseCode = "400", description = "Cabecera CSV inválida", content = @Content)
+    })
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importDevicesStreaming(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+
+        Iterator<IotDevice> devices;
+        try {
+            devices = contentType.startsWith("text/csv")
+                    ? importReader.csv(body)
+                    : importReader.ndjson(body);
+        } catch (IllegalArgumentException e) {
+            log.error("Import failed: {}", e.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setStatus(HttpStatus.CREATED.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        DeviceImportSummary summary = importService.importDevices(devices, progress -> writeLine(out, progress));
+        writeLine(out, summary);
+    }
+
+    private void writeLine(OutputStream out, DeviceImportSummary summary) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(summary));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * DELETE /api/iot/devices/{serialNumber}
      * Permanently delete a device from the database by serial number
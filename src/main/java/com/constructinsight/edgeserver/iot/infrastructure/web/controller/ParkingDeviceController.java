@@ -0,0 +1,114 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.controller;
+
+import com.constructinsight.edgeserver.iot.application.service.DeviceQueryService;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceResponseDto;
+import com.constructinsight.edgeserver.iot.infrastructure.web.mapper.IotDeviceMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller de dispositivos por parking y plaza
+ * Consultas a MySQL filtradas por usuario (Privacy Filter), resueltas por los índices
+ * (parkingId, ownerId, status) y (parkingId, parkingSpotId)
+ */
+@RestController
+@RequestMapping("/api/iot/parkings")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Parking Devices", description = "Dispositivos instalados por parking y plaza")
+public class ParkingDeviceController {
+
+    private final DeviceQueryService queryService;
+    private final IotDeviceMapper deviceMapper;
+
+    /**
+     * GET /api/iot/parkings/{parkingId}/devices - Dispositivos instalados en el parking
+     */
+    @Operation(
+            summary = "Dispositivos del parking",
+            description = "Retorna los dispositivos del usuario instalados en el parking, opcionalmente " +
+                          "filtrados por estado. Solo se retornan dispositivos donde ownerId coincide con el " +
+                          "userId proporcionado (Privacy Filter)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dispositivos obtenidos exitosamente"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado o parámetros inválidos", content = @Content)
+    })
+    @GetMapping("/{parkingId}/devices")
+    public ResponseEntity<List<IotDeviceResponseDto>> getParkingDevices(
+            @Parameter(description = "ID del parking", example = "PARKING-001")
+            @PathVariable String parkingId,
+            @Parameter(description = "Filtrar por estado", example = "ONLINE")
+            @RequestParam(value = "status", required = false) DeviceStatus status,
+            @Parameter(description = "ID del usuario (desde header)", example = "alice")
+            @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
+            @Parameter(description = "ID del usuario (desde query param)", example = "alice")
+            @RequestParam(value = "userId", required = false) String paramUserId) {
+
+        String userId = headerUserId != null ? headerUserId : paramUserId;
+        if (userId == null || userId.isBlank()) {
+            log.warn("Missing userId in parking device request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("🅿️ [Parking] Consultando dispositivos de {} (estado: {}, usuario: {})", parkingId, status, userId);
+        try {
+            return ResponseEntity.ok(deviceMapper.viewsToResponseDtoList(
+                    queryService.findByParking(userId, parkingId, status)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid parking device request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/iot/parkings/{parkingId}/spots/{spotId}/devices - Dispositivos instalados en la plaza
+     */
+    @Operation(
+            summary = "Dispositivos de la plaza",
+            description = "Retorna los dispositivos del usuario instalados en una plaza del parking. " +
+                          "Solo se retornan dispositivos donde ownerId coincide con el userId proporcionado " +
+                          "(Privacy Filter)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dispositivos obtenidos exitosamente"),
+            @ApiResponse(responseCode = "400", description = "userId no proporcionado o parámetros inválidos", content = @Content)
+    })
+    @GetMapping("/{parkingId}/spots/{spotId}/devices")
+    public ResponseEntity<List<IotDeviceResponseDto>> getSpotDevices(
+            @Parameter(description = "ID del parking", example = "PARKING-001")
+            @PathVariable String parkingId,
+            @Parameter(description = "ID de la plaza", example = "SPOT-A1")
+            @PathVariable String spotId,
+            @Parameter(description = "ID del usuario (desde header)", example = "alice")
+            @RequestHeader(value = "X-User-Id", required = false) String headerUserId,
+            @Parameter(description = "ID del usuario (desde query param)", example = "alice")
+            @RequestParam(value = "userId", required = false) String paramUserId) {
+
+        String userId = headerUserId != null ? headerUserId : paramUserId;
+        if (userId == null || userId.isBlank()) {
+            log.warn("Missing userId in parking device request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("🅿️ [Parking] Consultando dispositivos de la plaza {}/{} (usuario: {})", parkingId, spotId, userId);
+        try {
+            return ResponseEntity.ok(deviceMapper.viewsToResponseDtoList(
+                    queryService.findByParkingSpot(userId, parkingId, spotId)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid parking device request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.controller;
+
+import com.constructinsight.edgeserver.iot.application.dto.ParkingOccupancyDto;
+import com.constructinsight.edgeserver.iot.application.dto.SpotOccupancyDto;
+import com.constructinsight.edgeserver.iot.application.service.ParkingOccupancyIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller de ocupación de parkings
+ * Responde desde el índice en memoria alimentado por la telemetría, sin consultar MySQL
+ */
+@RestController
+@RequestMapping("/api/iot/parkings")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Parking Occupancy", description = "Ocupación en tiempo real y analítica por parking y plaza")
+public class ParkingOccupancyController {
+
+    private final ParkingOccupancyIndex occupancyIndex;
+
+    /**
+     * GET /api/iot/parkings/{parkingId}/occupancy - Ocupación actual y utilización del parking
+     */
+    @Operation(
+            summary = "Ocupación del parking",
+            description = "Retorna las plazas libres, ocupadas y sin reporte del parking, y la utilización " +
+                          "(fracción del tiempo ocupado) en ventanas deslizantes. Se calcula en memoria a partir " +
+                          "de la telemetría de ocupación, sin consultar la base de datos."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocupación obtenida exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Parking sin sensores registrados", content = @Content)
+    })
+    @GetMapping("/{parkingId}/occupancy")
+    public ResponseEntity<ParkingOccupancyDto> getOccupancy(
+            @Parameter(description = "ID del parking", example = "PARKING-001")
+            @PathVariable String parkingId) {
+
+        log.debug("🅿️ [Occupancy] Consultando ocupación de {}", parkingId);
+        return occupancyIndex.parking(parkingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/iot/parkings/{parkingId}/spots - Estado y tiempos de permanencia por plaza
+     */
+    @Operation(
+            summary = "Plazas del parking",
+            description = "Retorna cada plaza con su estado de ocupación, inicio y duración de la " +
+                          "estancia actual y duración media de las estancias completadas. " +
+                          "Con onlyFree=true solo se retornan las plazas libres. " +
+                          "No incluye el número de serie de los sensores (vista pública)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plazas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Parking sin sensores registrados", content = @Content)
+    })
+    @GetMapping("/{parkingId}/spots")
+    public ResponseEntity<List<SpotOccupancyDto>> getSpots(
+            @Parameter(description = "ID del parking", example = "PARKING-001")
+            @PathVariable String parkingId,
+            @Parameter(description = "Solo plazas libres", example = "true")
+            @RequestParam(value = "onlyFree", defaultValue = "false") boolean onlyFree) {
+
+        log.debug("🅿️ [Occupancy] Consultando plazas de {} (solo libres: {})", parkingId, onlyFree);
+        return occupancyIndex.spots(parkingId, onlyFree)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
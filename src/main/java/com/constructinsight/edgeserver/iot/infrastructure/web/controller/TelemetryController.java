@@ -1,11 +1,9 @@
 package com.constructinsight.edgeserver.iot.infrastructure.web.controller;
 
-import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
-import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
-import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
-import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
-import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
-import com.constructinsight.edgeserver.iot.integration.service.BackendIntegrationService;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryIngestionResult;
+import com.constructinsight.edgeserver.iot.application.service.TelemetryIngestionService;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.DeviceTelemetryReport;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.TelemetryReportMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Controller para ingesta de telemetría de dispositivos IoT
@@ -30,13 +29,18 @@ import java.util.Optional;
 @Tag(name = "IoT Telemetry", description = "Ingesta de telemetría de sensores en tiempo real")
 public class TelemetryController {
 
-    private final IotDeviceRepository repo;
-    private final BackendIntegrationService backendIntegrationService;
+    private final TelemetryIngestionService ingestionService;
+    private final TelemetryReportMapper telemetryReportMapper;
+
+    @Value("${edge.telemetry.batch.max-size:1000}")
+    private int maxBatchSize;
 
     /**
      * POST /api/iot/telemetry - Recibir telemetría de dispositivos
 
      * Actualiza el estado de un dispositivo existente o lo crea si no existe.
+     * El reporte se encola en la línea (lane) de su sensor y se responde 202 de inmediato;
+     * los reportes de un mismo sensor se aplican en orden y los atrasados se descartan.
      * Usado por los scripts de simulación para enviar datos periódicos.
      */
     @Operation(
@@ -47,7 +51,8 @@ public class TelemetryController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "202", description = "Telemetría aceptada y procesada"),
-            @ApiResponse(responseCode = "400", description = "Datos de telemetría inválidos", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Datos de telemetría inválidos", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Cola de ingesta llena, reintentar", content = @Content)
     })
     @PostMapping("/telemetry")
     public ResponseEntity<Void> ingest(@RequestBody DeviceTelemetryReport telemetry) {
@@ -57,108 +62,52 @@ public class TelemetryController {
                 telemetry.status(),
                 telemetry.occupied());
 
-        // Buscar dispositivo por serialNumber
-        Optional<IotDevice> opt = repo.findBySerialNumber(telemetry.serialNumber());
-
-        IotDevice dev = opt.orElseGet(() -> {
-            // Si no existe, auto-crear como dispositivo descubierto
-            log.info("🆕 [Telemetry] Auto-creando dispositivo descubierto: {}", telemetry.serialNumber());
-
-            IotDevice d = new IotDevice();
-            d.setSerialNumber(telemetry.serialNumber());
-            d.setModel("Auto-Discovered");
-            d.setType(DeviceType.SENSOR);
-            d.setOwnerId(null);  // 🔑 Sin propietario, libre para ser reclamado
-            d.setStatus(DeviceStatus.ONLINE);
-            d.setBattery(telemetry.battery() != null ? telemetry.battery() : 100);
-            d.setLastCheckIn(Instant.now());
-            d.setSyncStatus(DeviceSyncStatus.DISCONNECTED);  // Inicialmente desconectado del backend
-
-            return repo.save(d);
-        });
-
-        // Log del estado actual antes de actualizar
-        log.info("🔋 [Telemetry] Estado ANTES - Device: {} | Battery actual: {}% | Nueva battery: {}%",
-                dev.getSerialNumber(), dev.getBattery(), telemetry.battery());
-
-        // Actualizar campos con datos de telemetría
-
-        // SIEMPRE actualizar batería si viene en la telemetría
-        if (telemetry.battery() != null) {
-            Integer oldBattery = dev.getBattery();
-            dev.setBattery(telemetry.battery());
-            log.info("🔋 [Telemetry] Battery actualizada: {} | {}% → {}%",
-                    dev.getSerialNumber(), oldBattery, telemetry.battery());
-        }
-
-        if (telemetry.status() != null) {
-            DeviceStatus newStatus = mapStatus(telemetry.status());
-            if (!newStatus.equals(dev.getStatus())) {
-                DeviceStatus oldStatus = dev.getStatus();
-                dev.setStatus(newStatus);
-                log.info("📱 [Telemetry] Status actualizado: {} | {} → {}",
-                        dev.getSerialNumber(), oldStatus, newStatus);
+        // Asíncrono: la línea del sensor lo aplica en orden y se persiste en lotes (write-behind)
+        try {
+            if (!ingestionService.submit(telemetryReportMapper.toCommand(telemetry))) {
+                log.warn("⚠️ [Telemetry] Cola de ingesta llena, rechazando telemetría de: {}", telemetry.serialNumber());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
             }
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [Telemetry] Telemetría inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
 
-        // Actualizar timestamp de última comunicación
-        dev.setLastCheckIn(
-                telemetry.checkedAt() != null ? telemetry.checkedAt() : Instant.now()
-        );
-
-        // Sincronizar estado de ocupación con el Backend Principal
-        if (telemetry.occupied() != null) {
-            log.info("🅿️ [Telemetry] Sincronizando ocupación con Backend Principal: {} - Occuped: {}",
-                    telemetry.serialNumber(), telemetry.occupied());
-            backendIntegrationService.notifyBackendOfTelemetry(telemetry.serialNumber(), telemetry.occupied());
-        }
-
-        // Persistir cambios SIEMPRE (para actualizar lastCheckIn)
-        IotDevice savedDevice = repo.save(dev);
-
-        log.info("✅ [Telemetry] Dispositivo guardado: {} | Battery final: {}% | Status: {} | LastCheckIn: {}",
-                savedDevice.getSerialNumber(),
-                savedDevice.getBattery(),
-                savedDevice.getStatus(),
-                savedDevice.getLastCheckIn());
-
         return ResponseEntity.accepted().build();
     }
 
     /**
-     * Mapea string a DeviceStatus enum
+     * POST /api/iot/telemetry/batch - Recibir telemetría agregada por un gateway
+     *
+     * Resuelve todos los dispositivos con una sola consulta, crea los que falten en un
+     * único INSERT batch y devuelve el resultado de cada ítem en el mismo orden.
      */
-    private DeviceStatus mapStatus(String s) {
-        if (s == null) return DeviceStatus.ONLINE;
-        return switch (s.toLowerCase()) {
-            case "online" -> DeviceStatus.ONLINE;
-            case "offline" -> DeviceStatus.OFFLINE;
-            case "maintenance" -> DeviceStatus.MAINTENANCE;
-            case "error" -> DeviceStatus.ERROR;
-            default -> DeviceStatus.ONLINE;
-        };
-    }
+    @Operation(
+            summary = "Enviar telemetría de varios sensores (gateway)",
+            description = "Permite que un gateway envíe en una sola petición los reportes de telemetría de " +
+                          "varios sensores. Los dispositivos desconocidos se crean como libres (sin propietario). " +
+                          "La respuesta indica por cada ítem si fue ACCEPTED, CREATED o REJECTED."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Lote aceptado; ver resultado por ítem"),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande", content = @Content)
+    })
+    @PostMapping("/telemetry/batch")
+    public ResponseEntity<List<TelemetryIngestionResult>> ingestBatch(
+            @RequestBody List<DeviceTelemetryReport> reports) {
+
+        if (reports == null || reports.isEmpty() || reports.size() > maxBatchSize) {
+            log.warn("⚠️ [Telemetry] Lote inválido: {} reportes (máximo {})",
+                    reports == null ? 0 : reports.size(), maxBatchSize);
+            return ResponseEntity.badRequest().build();
+        }
 
-    /**
-     * DTO: Reporte de telemetría del dispositivo
-     */
-    public record DeviceTelemetryReport(
-            String serialNumber,
-            String status,
-            Integer battery,
-            Instant checkedAt,
-            Boolean occupied,
-            HealthMonitor healthMonitor
-    ) {}
+        log.info("📊 [Telemetry] Recibiendo lote de {} reportes", reports.size());
 
-    /**
-     * DTO: Métricas de salud del dispositivo (opcional)
-     */
-    public record HealthMonitor(
-            Integer failuresSinceStartup,
-            Integer failuresSinceLastCheckup,
-            Integer requestsSinceLastCheckup,
-            Integer requestsSinceStartup,
-            Double failingRate
-    ) {}
+        List<TelemetryIngestionResult> results = ingestionService.ingestBatch(reports.stream()
+                .map(report -> report != null ? telemetryReportMapper.toCommand(report) : null)
+                .toList());
+
+        return ResponseEntity.accepted().body(results);
+    }
 }
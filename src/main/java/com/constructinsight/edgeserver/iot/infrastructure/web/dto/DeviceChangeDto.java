@@ -0,0 +1,38 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.dto;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * SSE payload: a single change of one of the user's devices
+ * Only the fields affected by the change are present.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceChangeDto {
+
+    public enum ChangeType {
+        TELEMETRY,
+        OCCUPANCY,
+        BOUND,
+        UNBOUND,
+        REMOVED
+    }
+
+    private ChangeType type;
+    private String serialNumber;
+    private DeviceStatus status;
+    private Integer battery;
+    private Boolean occupied;
+    private Instant lastCheckIn;
+    private Instant timestamp;
+}
@@ -0,0 +1,193 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.importer;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceRequestDto;
+import com.constructinsight.edgeserver.iot.infrastructure.web.mapper.IotDeviceMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Incremental readers for bulk device imports
+ * Each reader yields one device at a time straight from the request stream,
+ * so the payload is never materialized as a whole.
+ *
+ * Every format yields {@code null} for a line or array element that cannot be mapped
+ * to a device, so the import counts it as rejected and carries on.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final IotDeviceMapper deviceMapper;
+
+    /**
+     * Read a JSON array of {@link IotDeviceRequestDto} element by element
+     * Each element is read as a tree first, so one that does not map to a device is
+     * skipped whole and yielded as {@code null}.
+     *
+     * @throws IllegalArgumentException if the payload is not a JSON array; while iterating,
+     *         if the JSON itself becomes malformed (reading cannot go on)
+     */
+    public Iterator<IotDevice> jsonArray(InputStream in) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of devices");
+        }
+
+        return new Iterator<>() {
+            private JsonToken next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null && next != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public IotDevice next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                JsonNode element;
+                try {
+                    element = parser.readValueAsTree();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed JSON array: " + e.getMessage(), e);
+                }
+                next = advance();
+                try {
+                    return deviceMapper.toEntity(objectMapper.treeToValue(element, IotDeviceRequestDto.class));
+                } catch (IOException | IllegalArgumentException e) {
+                    return null;
+                }
+            }
+
+            private JsonToken advance() {
+                try {
+                    return parser.nextToken();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed JSON array: " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Read newline-delimited JSON: one {@link IotDeviceRequestDto} per line
+     */
+    public Iterator<IotDevice> ndjson(InputStream in) {
+        return lines(in, line -> {
+            try {
+                return deviceMapper.toEntity(objectMapper.readValue(line, IotDeviceRequestDto.class));
+            } catch (IOException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Read CSV with a header row naming the columns:
+     * {@code serialNumber,model,type,status,battery[,lastCheckIn]}
+     *
+     * @throws IllegalArgumentException if the header is missing a required column
+     */
+    public Iterator<IotDevice> csv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header row is required");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[]{"serialnumber", "model", "type", "status", "battery"}) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        return lines(reader, line -> {
+            try {
+                String[] fields = line.split(",", -1);
+                IotDeviceRequestDto dto = IotDeviceRequestDto.builder()
+                        .serialNumber(field(fields, columns, "serialnumber"))
+                        .model(field(fields, columns, "model"))
+                        .type(DeviceType.valueOf(field(fields, columns, "type").toUpperCase(Locale.ROOT)))
+                        .status(DeviceStatus.valueOf(field(fields, columns, "status").toUpperCase(Locale.ROOT)))
+                        .battery(Integer.valueOf(field(fields, columns, "battery")))
+                        .lastCheckIn(columns.containsKey("lastcheckin") && !field(fields, columns, "lastcheckin").isEmpty()
+                                ? Instant.parse(field(fields, columns, "lastcheckin"))
+                                : null)
+                        .build();
+                return deviceMapper.toEntity(dto);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        });
+    }
+
+    private static String field(String[] fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < fields.length ? fields[index].trim() : "";
+    }
+
+    private static Iterator<IotDevice> lines(InputStream in, Function<String, IotDevice> parser) {
+        return lines(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), parser);
+    }
+
+    private static Iterator<IotDevice> lines(BufferedReader reader, Function<String, IotDevice> parser) {
+        return new Iterator<>() {
+            private String nextLine = advance();
+
+            @Override
+            public boolean hasNext() {
+                return nextLine != null;
+            }
+
+            @Override
+            public IotDevice next() {
+                if (nextLine == null) {
+                    throw new NoSuchElementException();
+                }
+                String line = nextLine;
+                nextLine = advance();
+                return parser.apply(line);
+            }
+
+            private String advance() {
+                try {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                    } while (line != null && line.isBlank());
+                    return line;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.constructinsight.edgeserver.iot.infrastructure.web.mapper;
 
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
 import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
 import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceRequestDto;
 import com.constructinsight.edgeserver.iot.infrastructure.web.dto.IotDeviceResponseDto;
@@ -20,6 +21,10 @@ public interface IotDeviceMapper {
 
     List<IotDeviceResponseDto> toResponseDtoList(List<IotDevice> devices);
 
+    IotDeviceResponseDto toResponseDto(DeviceView view);
+
+    List<IotDeviceResponseDto> viewsToResponseDtoList(List<DeviceView> views);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "ownerId", ignore = true)
     @Mapping(target = "parkingId", ignore = true)
@@ -0,0 +1,266 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.stream;
+
+import com.constructinsight.edgeserver.iot.application.service.OwnerKpiTracker;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOccupancyChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.DeviceChangeDto;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.DeviceChangeDto.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hub de streaming (SSE) de cambios de dispositivos por propietario
+ * Escucha los eventos de dominio (telemetría aplicada, ocupación, binding, borrado)
+ * y reenvía solo los deltas a los suscriptores del propietario del dispositivo.
+ *
+ * Cada suscriptor tiene un buffer acotado y un hilo virtual propio que escribe en
+ * la conexión; quien publica nunca se bloquea. Si un cliente es demasiado lento y
+ * su buffer se llena, se le desconecta (el navegador reconecta con EventSource).
+ */
+@Component
+@Slf4j
+public class DeviceChangeStreamHub {
+
+    private final OwnerKpiTracker ownerIndex;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByOwner = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter evictedCounter;
+
+    public DeviceChangeStreamHub(
+            OwnerKpiTracker ownerIndex,
+            MeterRegistry meterRegistry,
+            @Value("${edge.stream.buffer-size:256}") int bufferSize,
+            @Value("${edge.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${edge.stream.timeout:PT30M}") Duration timeout,
+            @Value("${edge.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.ownerIndex = ownerIndex;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+
+        Gauge.builder("edge.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Conexiones SSE abiertas")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("edge.stream.sent");
+        this.evictedCounter = meterRegistry.counter("edge.stream.evicted");
+    }
+
+    /**
+     * Abre un stream para el propietario
+     *
+     * @param ownerId Usuario propietario de los dispositivos
+     * @return Emitter SSE, o vacío si se alcanzó el máximo de suscriptores
+     */
+    public Optional<SseEmitter> subscribe(String ownerId) {
+        return register(ownerId, new SseEmitter(timeoutMillis));
+    }
+
+    /**
+     * Suscriptores abiertos
+     */
+    public int subscribers() {
+        return subscriberCount.get();
+    }
+
+    Optional<SseEmitter> register(String ownerId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            log.warn("⚠️ [Stream] Máximo de suscriptores alcanzado ({}), rechazando a {}", maxSubscribers, ownerId);
+            return Optional.empty();
+        }
+
+        Subscriber subscriber = new Subscriber(ownerId, emitter);
+        subscribersByOwner.computeIfAbsent(ownerId, owner -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+
+        log.info("📺 [Stream] Suscriptor conectado para {} ({} abiertos)", ownerId, subscriberCount.get());
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onTelemetryApplied(DeviceTelemetryAppliedEvent event) {
+        if (subscribersByOwner.isEmpty()) {
+            return;
+        }
+        for (DeviceTelemetryUpdate update : event.updates()) {
+            ownerIndex.ownerOf(update.serialNumber()).ifPresent(owner -> publish(owner, DeviceChangeDto.builder()
+                    .type(ChangeType.TELEMETRY)
+                    .serialNumber(update.serialNumber())
+                    .status(update.status())
+                    .battery(update.battery())
+                    .lastCheckIn(update.lastCheckIn())
+                    .timestamp(update.lastCheckIn())
+                    .build()));
+        }
+    }
+
+    @EventListener
+    public void onOccupancyChanged(DeviceOccupancyChangedEvent event) {
+        if (subscribersByOwner.isEmpty()) {
+            return;
+        }
+        ownerIndex.ownerOf(event.serialNumber()).ifPresent(owner -> publish(owner, DeviceChangeDto.builder()
+                .type(ChangeType.OCCUPANCY)
+                .serialNumber(event.serialNumber())
+                .occupied(event.occupied())
+                .timestamp(event.occurredAt())
+                .build()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOwnershipChanged(DeviceOwnershipChangedEvent event) {
+        Instant now = Instant.now();
+        if (event.previousOwnerId() != null && !event.previousOwnerId().equals(event.ownerId())) {
+            publish(event.previousOwnerId(), DeviceChangeDto.builder()
+                    .type(ChangeType.UNBOUND)
+                    .serialNumber(event.serialNumber())
+                    .timestamp(now)
+                    .build());
+        }
+        if (event.ownerId() != null) {
+            publish(event.ownerId(), DeviceChangeDto.builder()
+                    .type(ChangeType.BOUND)
+                    .serialNumber(event.serialNumber())
+                    .status(event.status())
+                    .battery(event.battery())
+                    .timestamp(now)
+                    .build());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(DeviceRemovedEvent event) {
+        if (event.ownerId() != null) {
+            publish(event.ownerId(), DeviceChangeDto.builder()
+                    .type(ChangeType.REMOVED)
+                    .serialNumber(event.serialNumber())
+                    .timestamp(Instant.now())
+                    .build());
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribersByOwner.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    private void publish(String ownerId, DeviceChangeDto change) {
+        Set<Subscriber> subscribers = subscribersByOwner.get(ownerId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(change)) {
+                evictedCounter.increment();
+                log.warn("⚠️ [Stream] Suscriptor lento de {} desconectado (buffer de {} eventos lleno)",
+                        ownerId, bufferSize);
+                subscriber.close();
+            }
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribersByOwner.computeIfPresent(subscriber.ownerId, (owner, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    /**
+     * Conexión SSE con su buffer y su hilo virtual de envío.
+     * Solo el hilo del suscriptor escribe en el emitter: cerrar desde fuera
+     * nunca espera a un cliente lento.
+     */
+    private final class Subscriber {
+
+        private final String ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<DeviceChangeDto> buffer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread sender;
+
+        Subscriber(String ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("sse-" + ownerId).start(this::run);
+        }
+
+        boolean offer(DeviceChangeDto change) {
+            return !closed.get() && buffer.offer(change);
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                if (sender != null) {
+                    sender.interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!closed.get()) {
+                    DeviceChangeDto change = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (change == null) {
+                        // Mantiene viva la conexión y detecta clientes desconectados
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name(change.getType().name().toLowerCase())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    sentCounter.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.debug("Stream de {} cerrado: {}", ownerId, e.getMessage());
+            } finally {
+                close();
+                emitter.complete();
+            }
+        }
+    }
+}
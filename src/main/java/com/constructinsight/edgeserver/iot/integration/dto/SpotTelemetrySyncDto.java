@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * DTO para sincronizar telemetría de ocupación con el Backend Principal
- * Endpoint destino: POST /api/spots/sync-telemetry
+ * Endpoint destino: POST /api/spots/sync-telemetry (o una lista en /api/spots/sync-telemetry/batch)
  */
 @Data
 @Builder
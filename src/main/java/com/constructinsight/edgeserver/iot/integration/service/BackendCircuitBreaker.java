@@ -0,0 +1,127 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker de las llamadas al Backend Principal
+ *
+ * CLOSED: las llamadas pasan; tras {@code failure-threshold} fallos consecutivos se abre.
+ * OPEN: las llamadas fallan al instante (sin red ni BD) durante {@code open-duration}.
+ * HALF_OPEN: una única llamada de prueba; si va bien se cierra, si falla vuelve a abrirse.
+ */
+@Component
+@Slf4j
+public class BackendCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+
+    private final Counter rejectedCounter;
+    private final Counter openedCounter;
+
+    @Autowired
+    public BackendCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${backend.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${backend.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        this(meterRegistry, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    BackendCircuitBreaker(MeterRegistry meterRegistry, int failureThreshold, Duration openDuration,
+                          LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("edge.backend.circuit.state", state, s -> s.get().ordinal())
+                .description("Estado del circuito al backend (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("edge.backend.circuit.rejected");
+        this.openedCounter = meterRegistry.counter("edge.backend.circuit.opened");
+    }
+
+    /**
+     * Indica si se puede llamar al backend ahora.
+     * Toda llamada permitida debe terminar en {@link #onSuccess()} o {@link #onFailure()}.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                rejectedCounter.increment();
+                return false;
+            }
+            log.info("🔌 [Integration] Circuito al backend en HALF_OPEN, enviando llamada de prueba");
+            probeInFlight.set(false);
+        }
+        // HALF_OPEN: solo una llamada de prueba a la vez
+        if (probeInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * El backend respondió (aunque sea con un error de cliente): está disponible
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        probeInFlight.set(false);
+        if (previous != State.CLOSED) {
+            log.info("✅ [Integration] Circuito al backend CERRADO, backend disponible de nuevo");
+        }
+    }
+
+    /**
+     * Fallo transitorio (conexión, timeout, 5xx)
+     */
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = nanoClock.getAsLong();
+        State previous = state.getAndSet(State.OPEN);
+        probeInFlight.set(false);
+        if (previous != State.OPEN) {
+            openedCounter.increment();
+            log.warn("⛔ [Integration] Circuito al backend ABIERTO tras {} fallos, reintento en {} s",
+                    consecutiveFailures.get(), Duration.ofNanos(openNanos).toSeconds());
+        }
+    }
+}
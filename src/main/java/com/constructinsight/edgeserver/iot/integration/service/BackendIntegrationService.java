@@ -1,20 +1,21 @@
 package com.constructinsight.edgeserver.iot.integration.service;
 
 import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
-import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
-import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
 import com.constructinsight.edgeserver.iot.integration.dto.SpotTelemetrySyncDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Servicio de integración con el Backend Principal
@@ -26,25 +27,41 @@ import java.util.Optional;
 public class BackendIntegrationService {
 
     private final RestTemplate restTemplate;
-    private final IotDeviceRepository deviceRepository;
+    private final DeviceSyncStatusRecorder syncStatusRecorder;
+    private final BackendCircuitBreaker circuitBreaker;
+    private final BackendRetryPolicy retryPolicy;
 
     @Value("${backend.main.url:http://localhost:8081}")
     private String backendMainUrl;
 
+    @Value("${backend.main.batch-sync-enabled:true}")
+    private volatile boolean batchSyncEnabled;
+
     /**
      * Notifica al Backend Principal sobre nueva telemetría de ocupación
-     * y actualiza el estado de sincronización del dispositivo localmente
+     * y registra el estado de sincronización del dispositivo (persistido en lote)
+     *
+     * Con el circuito abierto no se llama al backend ni se toca la BD: el cambio queda
+     * pendiente en el outbox y se reenvía cuando el backend vuelve a estar disponible.
      *
      * @param serialNumber Número de serie del dispositivo/sensor
      * @param occupied Estado de ocupación reportado por el sensor
+     * @return true si el cambio quedó resuelto (entregado, o rechazado por el backend
+     *         con un error no transitorio); false si debe reintentarse
      */
-    public void notifyBackendOfTelemetry(String serialNumber, Boolean occupied) {
+    public boolean notifyBackendOfTelemetry(String serialNumber, Boolean occupied) {
         if (occupied == null) {
             log.debug("🔄 [Integration] Telemetría sin dato de ocupación, omitiendo sincronización para: {}", serialNumber);
-            return;
+            return true;
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            log.debug("⛔ [Integration] Circuito abierto, posponiendo sincronización de: {}", serialNumber);
+            return false;
         }
 
         DeviceSyncStatus newSyncStatus = DeviceSyncStatus.DISCONNECTED; // Por defecto: desconectado
+        boolean settled = false;
 
         try {
             String endpoint = backendMainUrl + "/api/spots/sync-telemetry";
@@ -61,61 +78,130 @@ public class BackendIntegrationService {
             log.info("🔄 [Integration] Sincronizando telemetría con Backend: {} → {} (occupied: {})",
                     serialNumber, endpoint, occupied);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(endpoint, request, String.class);
+            ResponseEntity<String> response = retryPolicy.execute(
+                    () -> restTemplate.postForEntity(endpoint, request, String.class));
 
             if (response.getStatusCode().is2xxSuccessful()) {
+                circuitBreaker.onSuccess();
                 log.info("✅ [Integration] Sincronización exitosa: {} | Status: {}",
                         serialNumber, response.getStatusCode());
                 newSyncStatus = DeviceSyncStatus.CONNECTED; // Backend respondió OK
+                settled = true;
             } else {
                 log.warn("⚠️ [Integration] Sincronización con respuesta no esperada: {} | Status: {}",
                         serialNumber, response.getStatusCode());
                 newSyncStatus = DeviceSyncStatus.DISCONNECTED; // Backend respondió con error
+                settled = !onErrorResponse(response.getStatusCode());
             }
-
         } catch (Exception e) {
             // CRÍTICO: No fallar la ingesta si el Backend no responde
             log.error("❌ [Integration] Error al sincronizar con Backend Principal (sensor: {}): {} - {}",
                     serialNumber, e.getClass().getSimpleName(), e.getMessage());
             log.debug("Stack trace completo:", e);
+            if (retryPolicy.isBackendFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                // El backend respondió (p. ej. 4xx): está disponible, pero este cambio no se reenvía
+                circuitBreaker.onSuccess();
+                settled = true;
+            }
             newSyncStatus = DeviceSyncStatus.DISCONNECTED; // Error de conexión
         } finally {
-            // Actualizar el estado de sincronización en la base de datos local
-            updateDeviceSyncStatus(serialNumber, newSyncStatus);
+            // Se persiste en lote junto con el del resto de dispositivos
+            syncStatusRecorder.record(serialNumber, newSyncStatus);
         }
+        return settled;
     }
 
     /**
-     * Actualiza el estado de sincronización del dispositivo en la BD local
+     * Envía un lote de cambios de ocupación al endpoint batch del Backend Principal.
+     * Si el lote es rechazado (o el backend no expone el endpoint batch) se reintenta
+     * ítem por ítem con {@link #notifyBackendOfTelemetry(String, Boolean)}. Si el backend
+     * no está disponible (circuito abierto o error transitorio) no se entrega ningún ítem.
      *
-     * @param serialNumber Número de serie del dispositivo
-     * @param newSyncStatus Nuevo estado de sincronización
+     * @param batch Cambios de ocupación a sincronizar
+     * @return ítems no entregados, que deben reintentarse más tarde
      */
-    private void updateDeviceSyncStatus(String serialNumber, DeviceSyncStatus newSyncStatus) {
-        try {
-            Optional<IotDevice> deviceOpt = deviceRepository.findBySerialNumber(serialNumber);
-
-            if (deviceOpt.isPresent()) {
-                IotDevice device = deviceOpt.get();
-                DeviceSyncStatus oldSyncStatus = device.getSyncStatus();
-
-                // Solo actualizar si cambió el estado
-                if (oldSyncStatus != newSyncStatus) {
-                    device.setSyncStatus(newSyncStatus);
-                    deviceRepository.save(device);
-
-                    log.info("🔄 [Integration] Estado de sincronización actualizado: {} | {} → {}",
-                            serialNumber, oldSyncStatus, newSyncStatus);
-                } else {
-                    log.debug("🔄 [Integration] Estado de sincronización sin cambios: {} | Status: {}",
-                            serialNumber, newSyncStatus);
+    public List<SpotTelemetrySyncDto> syncBatch(List<SpotTelemetrySyncDto> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        if (batchSyncEnabled && batch.size() > 1) {
+            if (!circuitBreaker.tryAcquire()) {
+                log.debug("⛔ [Integration] Circuito abierto, posponiendo lote de {} sensores", batch.size());
+                return batch;
+            }
+
+            try {
+                String endpoint = backendMainUrl + "/api/spots/sync-telemetry/batch";
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<List<SpotTelemetrySyncDto>> request = new HttpEntity<>(batch, headers);
+
+                log.info("🔄 [Integration] Sincronizando lote de {} sensores con Backend: {}", batch.size(), endpoint);
+
+                ResponseEntity<String> response = retryPolicy.execute(
+                        () -> restTemplate.postForEntity(endpoint, request, String.class));
+
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    circuitBreaker.onSuccess();
+                    log.info("✅ [Integration] Lote sincronizado: {} sensores | Status: {}",
+                            batch.size(), response.getStatusCode());
+                    batch.forEach(item -> syncStatusRecorder.record(item.getSerialNumber(), DeviceSyncStatus.CONNECTED));
+                    return List.of();
                 }
-            } else {
-                log.warn("⚠️ [Integration] No se pudo actualizar syncStatus - Dispositivo no encontrado: {}", serialNumber);
+
+                if (onErrorResponse(response.getStatusCode())) {
+                    log.warn("⚠️ [Integration] Lote con fallo del backend: Status {}, se reintentará",
+                            response.getStatusCode());
+                    return batch;
+                }
+                log.warn("⚠️ [Integration] Lote con respuesta no esperada: Status {}, enviando ítem por ítem",
+                        response.getStatusCode());
+            } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+                // El backend no soporta el endpoint batch: no volver a intentarlo
+                circuitBreaker.onSuccess();
+                log.warn("⚠️ [Integration] Backend sin endpoint batch ({}), se usará sincronización individual",
+                        e.getStatusCode());
+                batchSyncEnabled = false;
+            } catch (Exception e) {
+                log.error("❌ [Integration] Error al sincronizar lote de {} sensores: {} - {}",
+                        batch.size(), e.getClass().getSimpleName(), e.getMessage());
+                if (retryPolicy.isBackendFailure(e)) {
+                    // Backend caído: enviar ítem por ítem solo multiplicaría los fallos
+                    circuitBreaker.onFailure();
+                    return batch;
+                }
+                circuitBreaker.onSuccess();
             }
-        } catch (Exception e) {
-            log.error("❌ [Integration] Error al actualizar syncStatus del dispositivo {}: {}",
-                    serialNumber, e.getMessage());
         }
+
+        // Fallback: sincronización individual
+        List<SpotTelemetrySyncDto> undelivered = new ArrayList<>();
+        batch.forEach(item -> {
+            if (!notifyBackendOfTelemetry(item.getSerialNumber(), item.getOccupied())) {
+                undelivered.add(item);
+            }
+        });
+        return undelivered;
+    }
+
+    /**
+     * Respuesta de error que no lanzó excepción (según el error handler del RestTemplate).
+     * Se clasifica igual que las excepciones ({@link BackendRetryPolicy#isBackendFailure}):
+     * 429 y cualquier 5xx cuentan como fallo del backend y se reintentan más tarde;
+     * el resto (p. ej. 4xx) es un rechazo del cambio y no se reenvía.
+     *
+     * @return true si es un fallo del backend y el cambio debe reintentarse
+     */
+    private boolean onErrorResponse(HttpStatusCode status) {
+        if (retryPolicy.isBackendFailure(status)) {
+            circuitBreaker.onFailure();
+            return true;
+        }
+        circuitBreaker.onSuccess();
+        return false;
     }
 }
@@ -0,0 +1,114 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintentos con backoff exponencial y jitter para llamadas al Backend Principal
+ * Solo se reintentan errores transitorios (I/O, timeout, 429, 502/503/504); el resto
+ * se propaga al primer intento.
+ *
+ * Espera antes del intento n: aleatorio en [0, min(max-backoff, initial-backoff * 2^(n-1))]
+ * ("full jitter"), para que varios workers no reintenten sincronizados.
+ */
+@Component
+@Slf4j
+public class BackendRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter retryCounter;
+
+    public BackendRetryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${backend.retry.max-attempts:3}") int maxAttempts,
+            @Value("${backend.retry.initial-backoff:PT0.2S}") Duration initialBackoff,
+            @Value("${backend.retry.max-backoff:PT2S}") Duration maxBackoff) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.retryCounter = meterRegistry.counter("edge.backend.retry");
+    }
+
+    /**
+     * Ejecuta la llamada reintentando los errores transitorios
+     *
+     * @throws RuntimeException el último error si se agotan los intentos o no es transitorio
+     */
+    public <T> T execute(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                retryCounter.increment();
+                log.debug("🔁 [Integration] Reintento {} de {} en {} ms: {}", attempt + 1, maxAttempts, backoff,
+                        e.getMessage());
+                sleep(backoff, e);
+            }
+        }
+    }
+
+    /**
+     * Errores de red/timeout y respuestas de sobrecarga o indisponibilidad del backend
+     */
+    public boolean isTransient(Throwable e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException statusException) {
+            return isTransient(statusException.getStatusCode());
+        }
+        return false;
+    }
+
+    /**
+     * Mismo criterio para respuestas de error que no lanzaron excepción
+     */
+    public boolean isTransient(HttpStatusCode status) {
+        return status.value() == 429 || status.value() == 502 || status.value() == 503 || status.value() == 504;
+    }
+
+    /**
+     * Fallo del backend y no del cambio enviado: errores transitorios y cualquier 5xx.
+     * Cuenta para el circuit breaker y el cambio queda pendiente, aunque un 500/501/505
+     * no se reintente en el momento.
+     */
+    public boolean isBackendFailure(Throwable e) {
+        return isTransient(e)
+                || (e instanceof HttpStatusCodeException statusException && isBackendFailure(statusException.getStatusCode()));
+    }
+
+    public boolean isBackendFailure(HttpStatusCode status) {
+        return isTransient(status) || status.is5xxServerError();
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis, RuntimeException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.domain.model.OccupancySyncEntry;
+import com.constructinsight.edgeserver.iot.domain.port.OccupancySyncOutbox;
+import com.constructinsight.edgeserver.iot.integration.dto.SpotTelemetrySyncDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Pipeline asíncrono y durable de sincronización con el Backend Principal
+ *
+ * 1. La ingesta solo registra el último estado de cada sensor en memoria (sin bloquear).
+ * 2. Cada {@code backend.sync.outbox.flush-interval-ms} esos estados se escriben en lote
+ *    en el outbox local ({@link OccupancySyncOutbox}), compactado por sensor.
+ * 3. Un único hilo relay lee del outbox los cambios más antiguos, los envía en lotes
+ *    y solo borra los que el backend confirmó.
+ *
+ * Si el backend cae, los cambios siguen en el outbox (también tras un reinicio) y se
+ * reenvían en orden cuando vuelve. Cada estado lleva una secuencia creciente: el borrado
+ * es condicional a ella, así que un estado más reciente nunca se pierde por la confirmación
+ * de uno anterior.
+ *
+ * Con {@code spring.threads.virtual.enabled=true} el relay es un hilo virtual.
+ */
+@Service
+@Slf4j
+public class BackendSyncPipeline {
+
+    private final BackendIntegrationService backendIntegrationService;
+    private final OccupancySyncOutbox outbox;
+    private final int batchSize;
+    private final long idleDelayMs;
+    private final boolean virtualThreads;
+
+    private final ConcurrentHashMap<String, OccupancySyncEntry> staged = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong outboxDepth = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter enqueuedCounter;
+    private final Counter compactedCounter;
+    private final Counter flushFailedCounter;
+    private final Counter sentCounter;
+    private final Counter retainedCounter;
+    private final Timer relayTimer;
+
+    private Thread relay;
+    private volatile boolean running;
+
+    public BackendSyncPipeline(
+            BackendIntegrationService backendIntegrationService,
+            OccupancySyncOutbox outbox,
+            MeterRegistry meterRegistry,
+            @Value("${backend.sync.batch-size:100}") int batchSize,
+            @Value("${backend.sync.relay.idle-delay:PT0.5S}") Duration idleDelay,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.backendIntegrationService = backendIntegrationService;
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.idleDelayMs = idleDelay.toMillis();
+        this.virtualThreads = virtualThreads;
+
+        Gauge.builder("edge.backend.sync.staged", staged, ConcurrentHashMap::size)
+                .description("Cambios de ocupación aún no escritos en el outbox")
+                .register(meterRegistry);
+        Gauge.builder("edge.backend.sync.outbox.depth", outboxDepth, AtomicLong::get)
+                .description("Cambios de ocupación pendientes de entregar al backend")
+                .register(meterRegistry);
+        this.enqueuedCounter = meterRegistry.counter("edge.backend.sync.enqueued");
+        this.compactedCounter = meterRegistry.counter("edge.backend.sync.compacted");
+        this.flushFailedCounter = meterRegistry.counter("edge.backend.sync.outbox.flush.failed");
+        this.sentCounter = meterRegistry.counter("edge.backend.sync.sent");
+        this.retainedCounter = meterRegistry.counter("edge.backend.sync.retained");
+        this.relayTimer = Timer.builder("edge.backend.sync.relay")
+                .description("Latencia de cada lote enviado desde el outbox")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        // Las secuencias deben seguir creciendo respecto a lo que quedó en el outbox
+        sequence.set(outbox.maxSequence());
+        outboxDepth.set(outbox.count());
+
+        running = true;
+        relay = (virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true))
+                .name("backend-sync-relay")
+                .start(this::runRelay);
+        log.info("🔄 [Integration] Relay del outbox iniciado ({}), {} cambios pendientes",
+                virtualThreads ? "hilo virtual" : "hilo de plataforma", outboxDepth.get());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        relay.interrupt();
+        relay.join(Duration.ofSeconds(10));
+
+        // Lo que no llegó al outbox se persiste para reenviarlo tras el reinicio
+        log.info("🔄 [Integration] Persistiendo {} cambios pendientes antes de apagar", staged.size());
+        flushStaged();
+    }
+
+    /**
+     * Registra un cambio de ocupación sin bloquear al hilo de ingesta.
+     * Si el sensor ya tenía un cambio pendiente de escribir, solo se conserva el nuevo.
+     *
+     * @param serialNumber Número de serie del sensor
+     * @param occupied Estado de ocupación reportado
+     */
+    public void enqueue(String serialNumber, Boolean occupied) {
+        if (occupied == null) {
+            return;
+        }
+        OccupancySyncEntry entry = new OccupancySyncEntry(serialNumber, occupied, sequence.incrementAndGet());
+        if (staged.put(serialNumber, entry) != null) {
+            compactedCounter.increment();
+        }
+        enqueuedCounter.increment();
+    }
+
+    /**
+     * Escribe en el outbox los cambios registrados desde el último flush.
+     * Si la escritura falla se vuelven a registrar, salvo que ya haya uno más reciente.
+     */
+    @Scheduled(fixedDelayString = "${backend.sync.outbox.flush-interval-ms:200}")
+    public void flushStaged() {
+        flushLock.lock();
+        try {
+            List<OccupancySyncEntry> entries = new ArrayList<>(staged.size());
+            for (String serialNumber : staged.keySet()) {
+                OccupancySyncEntry entry = staged.remove(serialNumber);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            try {
+                outbox.appendAll(entries);
+                // Cota superior: un upsert sobre un sensor ya pendiente no añade fila.
+                // El relay la corrige en cuanto lee el outbox completo
+                outboxDepth.addAndGet(entries.size());
+            } catch (Exception e) {
+                log.error("❌ [Integration] No se pudieron escribir {} cambios en el outbox: {}",
+                        entries.size(), e.getMessage());
+                flushFailedCounter.increment(entries.size());
+                entries.forEach(failed -> staged.merge(failed.serialNumber(), failed,
+                        (newer, older) -> newer.sequence() > older.sequence() ? newer : older));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Envía al backend el lote más antiguo del outbox y borra los cambios entregados.
+     * Actualiza la profundidad del outbox sin consultar la tabla: si el lote no llegó
+     * a {@code batchSize} se leyó el outbox entero, y lo que queda son los no borrados.
+     *
+     * @return número de cambios entregados
+     */
+    public int relayOnce() {
+        List<OccupancySyncEntry> entries = outbox.fetchOldest(batchSize);
+        if (entries.isEmpty()) {
+            outboxDepth.set(0);
+            return 0;
+        }
+
+        List<SpotTelemetrySyncDto> items = entries.stream()
+                .map(entry -> SpotTelemetrySyncDto.builder()
+                        .serialNumber(entry.serialNumber())
+                        .occupied(entry.occupied())
+                        .build())
+                .toList();
+
+        Timer.Sample sample = Timer.start();
+        Set<String> undelivered = backendIntegrationService.syncBatch(items).stream()
+                .map(SpotTelemetrySyncDto::getSerialNumber)
+                .collect(Collectors.toSet());
+        sample.stop(relayTimer);
+
+        List<OccupancySyncEntry> delivered = entries.stream()
+                .filter(entry -> !undelivered.contains(entry.serialNumber()))
+                .toList();
+        int removed = outbox.removeDelivered(delivered);
+        if (entries.size() < batchSize) {
+            outboxDepth.set(entries.size() - removed);
+        } else {
+            outboxDepth.updateAndGet(depth -> Math.max(entries.size() - removed, depth - removed));
+        }
+
+        sentCounter.increment(delivered.size());
+        retainedCounter.increment(undelivered.size());
+        return delivered.size();
+    }
+
+    private void runRelay() {
+        while (running) {
+            try {
+                if (relayOnce() == 0) {
+                    // Outbox vacío o backend no disponible: esperar antes de volver a intentar
+                    Thread.sleep(idleDelayMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ [Integration] Error en el relay del outbox: {}", e.getMessage());
+                try {
+                    Thread.sleep(idleDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceSyncStatusWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado de sincronización de los dispositivos, pendiente de persistir
+ * Cada llamada al backend solo registra el resultado en memoria (último estado por
+ * sensor); un flush periódico lo escribe con un UPDATE masivo por cada valor de estado,
+ * en lugar de leer y guardar el dispositivo tras cada envío.
+ */
+@Component
+@Slf4j
+public class DeviceSyncStatusRecorder {
+
+    private final DeviceSyncStatusWriter syncStatusWriter;
+    private final ConcurrentHashMap<String, DeviceSyncStatus> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter changedCounter;
+    private final Counter failedCounter;
+
+    public DeviceSyncStatusRecorder(DeviceSyncStatusWriter syncStatusWriter, MeterRegistry meterRegistry) {
+        this.syncStatusWriter = syncStatusWriter;
+
+        Gauge.builder("edge.backend.sync.status.pending", pending, ConcurrentHashMap::size)
+                .description("Dispositivos con estado de sincronización pendiente de persistir")
+                .register(meterRegistry);
+        this.changedCounter = meterRegistry.counter("edge.backend.sync.status.changed");
+        this.failedCounter = meterRegistry.counter("edge.backend.sync.status.failed");
+    }
+
+    /**
+     * Registra el resultado de la última sincronización de un dispositivo
+     */
+    public void record(String serialNumber, DeviceSyncStatus status) {
+        pending.put(serialNumber, status);
+    }
+
+    /**
+     * Dispositivos pendientes de persistir
+     */
+    public int depth() {
+        return pending.size();
+    }
+
+    /**
+     * Persiste los estados registrados: un UPDATE masivo por valor de estado.
+     * Si falla, se vuelven a registrar salvo que ya haya un resultado más reciente.
+     */
+    @Scheduled(fixedDelayString = "${backend.sync.status.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<DeviceSyncStatus, List<String>> byStatus = new EnumMap<>(DeviceSyncStatus.class);
+            for (String serialNumber : pending.keySet()) {
+                DeviceSyncStatus status = pending.remove(serialNumber);
+                if (status != null) {
+                    byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(serialNumber);
+                }
+            }
+
+            byStatus.forEach((status, serialNumbers) -> {
+                try {
+                    int changed = syncStatusWriter.updateSyncStatus(status, serialNumbers);
+                    changedCounter.increment(changed);
+                    log.debug("🔄 [Integration] Estado de sincronización {} persistido: {} de {} dispositivos cambiaron",
+                            status, changed, serialNumbers.size());
+                } catch (Exception e) {
+                    log.error("❌ [Integration] Error al persistir syncStatus {} de {} dispositivos: {}",
+                            status, serialNumbers.size(), e.getMessage());
+                    failedCounter.increment(serialNumbers.size());
+                    serialNumbers.forEach(serialNumber -> pending.putIfAbsent(serialNumber, status));
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
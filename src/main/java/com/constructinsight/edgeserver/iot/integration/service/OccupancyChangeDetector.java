@@ -0,0 +1,74 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detector de cambios de ocupación
+ * Guarda el último estado de ocupación enviado al Backend Principal por cada sensor
+ * y solo deja pasar transiciones reales, más un reenvío periódico (heartbeat)
+ * para corregir posibles desincronizaciones.
+ *
+ * Cada entrada se empaqueta en un único {@code long}:
+ * {@code (segundoEpochDelÚltimoEnvío << 1) | ocupado}
+ */
+@Component
+public class OccupancyChangeDetector {
+
+    private final ConcurrentHashMap<String, Long> lastForwarded = new ConcurrentHashMap<>();
+    private final long heartbeatSeconds;
+
+    private final Counter forwardedCounter;
+    private final Counter suppressedCounter;
+    private final Counter heartbeatCounter;
+
+    public OccupancyChangeDetector(
+            MeterRegistry meterRegistry,
+            @Value("${backend.sync.heartbeat-interval:PT5M}") Duration heartbeatInterval) {
+        this.heartbeatSeconds = heartbeatInterval.toSeconds();
+
+        Gauge.builder("edge.occupancy.tracked", lastForwarded, ConcurrentHashMap::size)
+                .description("Sensores con estado de ocupación conocido")
+                .register(meterRegistry);
+        this.forwardedCounter = meterRegistry.counter("edge.occupancy.forwarded");
+        this.suppressedCounter = meterRegistry.counter("edge.occupancy.suppressed");
+        this.heartbeatCounter = meterRegistry.counter("edge.occupancy.heartbeat");
+    }
+
+    /**
+     * Indica si el reporte de ocupación debe sincronizarse con el Backend Principal
+     * y, en ese caso, lo registra como último estado enviado
+     *
+     * @param serialNumber Número de serie del sensor
+     * @param occupied Estado de ocupación reportado
+     * @param nowEpochSecond Instante actual en segundos epoch
+     * @return true si es una transición o toca heartbeat
+     */
+    public boolean shouldForward(String serialNumber, boolean occupied, long nowEpochSecond) {
+        long packed = (nowEpochSecond << 1) | (occupied ? 1L : 0L);
+        boolean[] forward = {false};
+
+        lastForwarded.compute(serialNumber, (key, previous) -> {
+            if (previous == null || ((previous & 1L) == 1L) != occupied) {
+                forward[0] = true;
+                forwardedCounter.increment();
+                return packed;
+            }
+            if (nowEpochSecond - (previous >>> 1) >= heartbeatSeconds) {
+                forward[0] = true;
+                heartbeatCounter.increment();
+                return packed;
+            }
+            suppressedCounter.increment();
+            return previous;
+        });
+
+        return forward[0];
+    }
+}
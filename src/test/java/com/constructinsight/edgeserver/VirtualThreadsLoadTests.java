@@ -0,0 +1,178 @@
+package com.constructinsight.edgeserver;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceBulkWriter;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and p99 latency with platform vs virtual request threads, for the device listing
+ * (read path) and for telemetry ingestion (write path: every report flips occupancy, so the
+ * outbox relay keeps calling a stub main backend that answers after {@code BACKEND_LATENCY}).
+ * Boots the whole application twice on H2. Run with {@code -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsLoadTests {
+
+    private static final int DEVICES = 2_000;
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 10_000;
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(50);
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        AtomicInteger synced = new AtomicInteger();
+        HttpServer backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        backend.createContext("/api/spots/sync-telemetry", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(BACKEND_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synced.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        backend.start();
+
+        try {
+            String backendUrl = "http://localhost:" + backend.getAddress().getPort();
+            Scenarios platform = run(false, backendUrl);
+            Scenarios virtual = run(true, backendUrl);
+
+            print("Platform threads", platform);
+            print("Virtual threads ", virtual);
+            System.out.printf("Backend sync requests served by the stub: %d%n", synced.get());
+            assertThat(platform.errors() + virtual.errors()).isZero();
+        } finally {
+            backend.stop(0);
+        }
+    }
+
+    private Scenarios run(boolean virtualThreads, String backendUrl) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EdgeServerApplication.class)
+                .profiles("h2")
+                // Command-line arguments: unlike builder properties they override application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--backend.main.url=" + backendUrl,
+                        "--logging.level.com.constructinsight=WARN")) {
+
+            DeviceBulkWriter bulkWriter = context.getBean(DeviceBulkWriter.class);
+            bulkWriter.insertBatch(IntStream.range(0, DEVICES).mapToObj(VirtualThreadsLoadTests::device).toList());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI listing = URI.create("http://localhost:" + port + "/api/iot/devices?userId=load&limit=100");
+            URI telemetry = URI.create("http://localhost:" + port + "/api/iot/telemetry");
+
+            IntFunction<HttpRequest> read = i -> HttpRequest.newBuilder(listing).GET().build();
+            fire(read, 200, WARMUP_REQUESTS);
+            Result reads = fire(read, 200, REQUESTS);
+
+            // Each pass over the fleet flips every sensor, so each report is an occupancy change
+            IntFunction<HttpRequest> write = i -> HttpRequest.newBuilder(telemetry)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"serialNumber\":\"LOAD-%d\",\"battery\":%d,\"occupied\":%b}"
+                                    .formatted(i % DEVICES, i % 101, (i / DEVICES) % 2 == 0)))
+                    .build();
+            fire(write, 202, WARMUP_REQUESTS);
+            Result writes = fire(write, 202, REQUESTS);
+
+            return new Scenarios(reads, writes);
+        }
+    }
+
+    private static void print(String mode, Scenarios scenarios) {
+        System.out.printf("%s: listing %.0f req/s, p99 %.1f ms | telemetry %.0f req/s, p99 %.1f ms (%d errors)%n",
+                mode, scenarios.reads().throughput(), scenarios.reads().p99Millis(),
+                scenarios.writes().throughput(), scenarios.writes().p99Millis(), scenarios.errors());
+    }
+
+    private Result fire(IntFunction<HttpRequest> request, int expectedStatus, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(5)).build()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                clients.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request.apply(index),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != expectedStatus) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(CONCURRENCY);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        double p99Millis = latencies[(int) (requests * 0.99) - 1] / 1_000_000.0;
+        return new Result(requests / seconds, p99Millis, errors.get());
+    }
+
+    private static IotDevice device(int i) {
+        return IotDevice.builder()
+                .serialNumber("LOAD-" + i)
+                .model("Model-X")
+                .type(DeviceType.SENSOR)
+                .status(DeviceStatus.ONLINE)
+                .battery(i % 101)
+                .lastCheckIn(Instant.now())
+                .ownerId("load")
+                .build();
+    }
+
+    private record Result(double throughput, double p99Millis, int errors) {
+    }
+
+    private record Scenarios(Result reads, Result writes) {
+
+        int errors() {
+            return reads.errors() + writes.errors();
+        }
+    }
+}
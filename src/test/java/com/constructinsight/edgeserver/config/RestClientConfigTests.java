@@ -0,0 +1,59 @@
+package com.constructinsight.edgeserver.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestClientConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(RestClientConfig.class)
+            .withPropertyValues("backend.http.read-timeout=PT0.3S", "backend.http.max-connections=7");
+
+    @Test
+    void hungBackendResponseTimesOut() throws Exception {
+        // Accepts the connection but never answers
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread.ofVirtual().start(() -> {
+                try (Socket ignored = server.accept()) {
+                    Thread.sleep(10_000);
+                } catch (Exception ignored) {
+                    // test finished
+                }
+            });
+
+            contextRunner.run(context -> {
+                RestTemplate restTemplate = context.getBean(RestTemplate.class);
+                long start = System.nanoTime();
+
+                assertThatThrownBy(() -> restTemplate.getForObject(
+                        "http://localhost:" + server.getLocalPort() + "/api/spots/sync-telemetry", String.class))
+                        .isInstanceOf(ResourceAccessException.class);
+                assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(3_000);
+            });
+        }
+    }
+
+    @Test
+    void exposesConnectionPoolMetrics() {
+        contextRunner.run(context -> {
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", "backend-main").gauge().value()).isEqualTo(7.0);
+        });
+    }
+}
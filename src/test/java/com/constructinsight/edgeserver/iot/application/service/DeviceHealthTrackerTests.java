@@ -0,0 +1,91 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthDto;
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthReport;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceHealthStats;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceHealthStatsStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceHealthTrackerTests {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final DeviceHealthStatsStore store = mock(DeviceHealthStatsStore.class);
+    private final OwnerKpiTracker kpiTracker = mock(OwnerKpiTracker.class);
+    private final DeviceHealthTracker tracker =
+            new DeviceHealthTracker(store, kpiTracker, new SimpleMeterRegistry(), 0.5, 3);
+
+    @Test
+    void keepsEwmaMinMaxAndPercentiles() {
+        when(kpiTracker.ownerOf(any())).thenReturn(Optional.of("alice"));
+        tracker.record("SN-1", health(0.2, null, null), T0);
+        tracker.record("SN-1", health(60.0, null, null), T0.plusSeconds(1)); // percentage
+        tracker.record("SN-1", health(null, 1, 10), T0.plusSeconds(2));
+
+        DeviceHealthDto stats = tracker.worstDevices(1, "alice").get(0);
+        assertThat(stats.samples()).isEqualTo(3);
+        assertThat(stats.ewmaFailingRate()).isCloseTo(0.25, within(1e-9)); // 0.2 -> 0.4 -> 0.25
+        assertThat(stats.minFailingRate()).isEqualTo(0.1);
+        assertThat(stats.maxFailingRate()).isEqualTo(0.6);
+        assertThat(stats.p50FailingRate()).isCloseTo(0.2, within(0.01));
+        assertThat(stats.p99FailingRate()).isCloseTo(0.6, within(0.01));
+        assertThat(stats.failuresSinceStartup()).isEqualTo(7);
+    }
+
+    @Test
+    void ranksOnlyTheWorstKDevicesOfTheOwner() {
+        when(kpiTracker.ownerOf(any())).thenReturn(Optional.of("alice"));
+        for (int i = 0; i < 20; i++) {
+            tracker.record("SN-" + i, health(i / 100.0, null, null), T0);
+        }
+
+        assertThat(tracker.worstDevices(3, "alice"))
+                .extracting(DeviceHealthDto::serialNumber)
+                .containsExactly("SN-19", "SN-18", "SN-17");
+        // Capped at edge.health.top.max-limit
+        assertThat(tracker.worstDevices(50, "alice")).hasSize(3);
+        assertThatThrownBy(() -> tracker.worstDevices(3, null)).isInstanceOf(IllegalArgumentException.class);
+
+        when(kpiTracker.ownerOf(any())).thenReturn(Optional.empty());
+        when(kpiTracker.ownerOf("SN-2")).thenReturn(Optional.of("alice"));
+        when(kpiTracker.ownerOf("SN-5")).thenReturn(Optional.of("alice"));
+        assertThat(tracker.worstDevices(3, "alice"))
+                .extracting(DeviceHealthDto::serialNumber)
+                .containsExactly("SN-5", "SN-2");
+    }
+
+    @Test
+    void persistsOnlyChangedDevicesAndRetriesFailedFlushes() {
+        List<DeviceHealthStats> saved = new ArrayList<>();
+        doThrow(new IllegalStateException("db down"))
+                .doAnswer(invocation -> saved.addAll(invocation.getArgument(0)))
+                .when(store).saveAll(anyCollection());
+
+        tracker.record("SN-1", health(0.5, null, null), T0);
+        tracker.record("SN-2", health(0.1, null, null), T0);
+
+        assertThat(tracker.flush()).isZero();
+        assertThat(tracker.flush()).isEqualTo(2);
+        assertThat(tracker.flush()).isZero();
+        assertThat(saved).extracting(DeviceHealthStats::serialNumber).containsExactlyInAnyOrder("SN-1", "SN-2");
+    }
+
+    private static DeviceHealthReport health(Double failingRate, Integer failures, Integer requests) {
+        return new DeviceHealthReport(7, failures, requests, 100, failingRate);
+    }
+}
@@ -0,0 +1,71 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceImportSummary;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceImportServiceTests {
+
+    private final DeviceBulkWriter bulkWriter = mock(DeviceBulkWriter.class);
+    private final DeviceImportService importService = new DeviceImportService(bulkWriter,
+            Validation.buildDefaultValidatorFactory().getValidator(), new SimpleMeterRegistry(), 2);
+
+    @Test
+    void importsWhatWasReadBeforeThePayloadBecameUnreadable() {
+        when(bulkWriter.insertBatch(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        DeviceImportSummary summary = importService.importDevices(failingAfter(
+                device("SN-1"), null, device("SN-2"), device("SN-3")));
+
+        assertThat(summary.getReceived()).isEqualTo(4);
+        assertThat(summary.getInserted()).isEqualTo(3);
+        assertThat(summary.getRejected()).isEqualTo(1);
+        assertThat(summary.getError()).isEqualTo("Malformed JSON array: truncated");
+    }
+
+    private static Iterator<IotDevice> failingAfter(IotDevice... devices) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public IotDevice next() {
+                if (next < devices.length) {
+                    return devices[next++];
+                }
+                if (next++ == devices.length) {
+                    throw new IllegalArgumentException("Malformed JSON array: truncated");
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    private static IotDevice device(String serialNumber) {
+        return IotDevice.builder()
+                .serialNumber(serialNumber)
+                .model("Model-X")
+                .type(DeviceType.SENSOR)
+                .status(DeviceStatus.ONLINE)
+                .battery(90)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceLaneExecutorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeviceLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.drainAndStop();
+    }
+
+    @Test
+    void appliesTasksOfEachKeyInSubmissionOrder() throws InterruptedException {
+        // Room for every task, so order is the only thing under test
+        executor = start(4, 32 * 500);
+        Map<String, List<Integer>> applied = new ConcurrentHashMap<>();
+        List<Thread> producers = new ArrayList<>();
+
+        // One producer per device, many devices sharing lanes
+        for (int d = 0; d < 32; d++) {
+            String serialNumber = "SN-" + d;
+            applied.put(serialNumber, Collections.synchronizedList(new ArrayList<>()));
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int seq = 0; seq < 500; seq++) {
+                    int value = seq;
+                    executor.submit(serialNumber, () -> applied.get(serialNumber).add(value));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        executor.drainAndStop();
+
+        List<Integer> expected = IntStream.range(0, 500).boxed().toList();
+        applied.values().forEach(values -> assertThat(values).isEqualTo(expected));
+    }
+
+    @Test
+    void blockedLaneDoesNotDelayOtherLanes() throws InterruptedException {
+        executor = start(4, 10);
+        String blocked = "SN-0";
+        String other = IntStream.range(1, 100).mapToObj(i -> "SN-" + i)
+                .filter(key -> executor.laneOf(key) != executor.laneOf(blocked))
+                .findFirst().orElseThrow();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        executor.submit(blocked, () -> await(release));
+        executor.submit(other, otherDone::countDown);
+
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void rejectsWhenLaneStaysFull() {
+        executor = start(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("SN-1", () -> await(release));
+        // Wait until the lane took the blocking task, then fill its single slot
+        while (executor.depth(0) > 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(executor.submit("SN-1", () -> { })).isTrue();
+
+        assertThat(executor.submit("SN-1", () -> { })).isFalse();
+        assertThat(meterRegistry.counter("edge.ingestion.rejected").count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private DeviceLaneExecutor start(int lanes, int capacity) {
+        DeviceLaneExecutor laneExecutor = new DeviceLaneExecutor(meterRegistry, lanes, capacity,
+                Duration.ofMillis(20), true);
+        laneExecutor.start();
+        return laneExecutor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
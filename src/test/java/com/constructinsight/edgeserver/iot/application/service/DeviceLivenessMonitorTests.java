@@ -0,0 +1,99 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceCheckIn;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceLivenessMonitorTests {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final AtomicLong now = new AtomicLong(T0.toEpochMilli());
+    private final IotDeviceRepository repository = mock(IotDeviceRepository.class);
+    private final DeviceTelemetryWriter writer = mock(DeviceTelemetryWriter.class);
+    private final List<Object> events = new ArrayList<>();
+    private final DeviceLivenessMonitor monitor = new DeviceLivenessMonitor(repository, writer, events::add,
+            new SimpleMeterRegistry(), Duration.ofMinutes(5), now::get);
+
+    @Test
+    void marksOnlySilentDevicesOfflineAndPublishesTheChange() {
+        when(repository.findCheckInsByStatus(DeviceStatus.ONLINE)).thenReturn(List.of(
+                new DeviceCheckIn("SN-1", T0), new DeviceCheckIn("SN-2", T0)));
+        when(writer.markOffline(anyCollection(), any())).thenAnswer(inv -> List.copyOf((Collection<?>) inv.getArgument(0)));
+        monitor.loadOnlineDevices();
+
+        // SN-2 keeps reporting
+        now.set(T0.plus(Duration.ofMinutes(3)).toEpochMilli());
+        monitor.onTelemetryApplied(applied("SN-2", DeviceStatus.ONLINE, T0.plus(Duration.ofMinutes(3))));
+
+        now.set(T0.plus(Duration.ofMinutes(4)).toEpochMilli());
+        assertThat(monitor.sweep()).isZero();
+
+        now.set(T0.plus(Duration.ofMinutes(6)).toEpochMilli());
+        assertThat(monitor.sweep()).isEqualTo(1);
+
+        verify(writer).markOffline(List.of("SN-1"), T0.plus(Duration.ofMinutes(1)));
+        assertThat(events).singleElement().isEqualTo(applied("SN-1", DeviceStatus.OFFLINE, T0));
+        assertThat(monitor.trackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void devicesReportingAnotherStatusAreNotWatched() {
+        monitor.onTelemetryApplied(applied("SN-1", DeviceStatus.ONLINE, T0));
+        monitor.onTelemetryApplied(applied("SN-1", DeviceStatus.MAINTENANCE, T0.plusSeconds(1)));
+
+        now.set(T0.plus(Duration.ofMinutes(10)).toEpochMilli());
+
+        assertThat(monitor.sweep()).isZero();
+        assertThat(monitor.trackedCount()).isZero();
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextSweep() {
+        when(writer.markOffline(anyCollection(), any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of("SN-1"));
+        monitor.onTelemetryApplied(applied("SN-1", DeviceStatus.ONLINE, T0));
+        now.set(T0.plus(Duration.ofMinutes(10)).toEpochMilli());
+
+        assertThat(monitor.sweep()).isZero();
+        assertThat(events).isEmpty();
+        assertThat(monitor.sweep()).isEqualTo(1);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void publishesOnlyDevicesTheWriteActuallyMarked() {
+        // SN-2 checked in and was persisted after the sweep picked it, before its event arrived
+        when(writer.markOffline(anyCollection(), any())).thenReturn(List.of("SN-1"));
+        monitor.onTelemetryApplied(applied("SN-1", DeviceStatus.ONLINE, T0));
+        monitor.onTelemetryApplied(applied("SN-2", DeviceStatus.ONLINE, T0));
+        now.set(T0.plus(Duration.ofMinutes(10)).toEpochMilli());
+
+        assertThat(monitor.sweep()).isEqualTo(1);
+        assertThat(events).singleElement().isEqualTo(applied("SN-1", DeviceStatus.OFFLINE, T0));
+    }
+
+    private static DeviceTelemetryAppliedEvent applied(String serialNumber, DeviceStatus status, Instant checkIn) {
+        return new DeviceTelemetryAppliedEvent(List.of(new DeviceTelemetryUpdate(serialNumber, null, status, checkIn)));
+    }
+}
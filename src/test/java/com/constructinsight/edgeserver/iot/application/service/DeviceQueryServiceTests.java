@@ -0,0 +1,64 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DevicePage;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceQueryServiceTests {
+
+    private static final int FLEET = 5;
+
+    private final IotDeviceRepository deviceRepository = mock(IotDeviceRepository.class);
+    private final DeviceQueryService queryService =
+            new DeviceQueryService(deviceRepository, mock(OwnerKpiTracker.class));
+    private final DeviceSearchCriteria criteria = new DeviceSearchCriteria("alice", null, null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queryService, "defaultPageLimit", 2);
+        ReflectionTestUtils.setField(queryService, "maxPageLimit", 2);
+        // Keyset over ids 1..FLEET
+        when(deviceRepository.findPageByOwner(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return LongStream.rangeClosed(afterId + 1, FLEET).limit(limit).mapToObj(this::view).toList();
+        });
+    }
+
+    @Test
+    void returnsEveryDeviceWithoutCursorOrLimit() {
+        DevicePage page = queryService.findPageByUser(criteria, null, null);
+
+        assertThat(page.devices()).extracting(DeviceView::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void paginatesOnceACursorOrLimitIsGiven() {
+        DevicePage first = queryService.findPageByUser(criteria, null, 2);
+        assertThat(first.devices()).extracting(DeviceView::id).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isEqualTo("2");
+
+        DevicePage second = queryService.findPageByUser(criteria, first.nextCursor(), null);
+        assertThat(second.devices()).extracting(DeviceView::id).containsExactly(3L, 4L);
+        assertThat(second.nextCursor()).isEqualTo("4");
+    }
+
+    private DeviceView view(long id) {
+        return new DeviceView(id, "SN-" + id, null, null, null, null, null, null, "alice", null, null, null, null);
+    }
+}
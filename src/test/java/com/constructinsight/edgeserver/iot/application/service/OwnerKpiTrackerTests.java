@@ -0,0 +1,80 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceTelemetryAppliedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OwnerKpiTrackerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IotDeviceRepository repository = mock(IotDeviceRepository.class);
+    private final OwnerKpiTracker tracker = new OwnerKpiTracker(repository, meterRegistry);
+
+    @Test
+    void isNotReadyUntilFirstReconciliation() {
+        assertThat(tracker.snapshot("user-1")).isEmpty();
+
+        when(repository.findOwnedDeviceStates()).thenReturn(List.of());
+        tracker.reconcile();
+
+        assertThat(tracker.snapshot("user-1")).contains(DeviceKpiSnapshot.EMPTY);
+    }
+
+    @Test
+    void appliesEventsIncrementally() {
+        when(repository.findOwnedDeviceStates()).thenReturn(List.of(
+                new OwnedDeviceState("SN-1", "user-1", DeviceStatus.ONLINE, 80)));
+        tracker.reconcile();
+
+        tracker.onOwnershipChanged(new DeviceOwnershipChangedEvent("SN-2", null, "user-1", DeviceStatus.OFFLINE, 10));
+        tracker.onTelemetryApplied(new DeviceTelemetryAppliedEvent(List.of(
+                new DeviceTelemetryUpdate("SN-1", 15, null, Instant.now()),
+                new DeviceTelemetryUpdate("SN-9", 50, DeviceStatus.ONLINE, Instant.now()))));
+
+        assertThat(tracker.snapshot("user-1")).contains(new DeviceKpiSnapshot(2, 1, 1, 2, 25));
+
+        // A report without status brings an OFFLINE device back ONLINE, like the upsert does
+        tracker.onTelemetryApplied(new DeviceTelemetryAppliedEvent(List.of(
+                new DeviceTelemetryUpdate("SN-2", null, null, Instant.now()))));
+
+        assertThat(tracker.snapshot("user-1")).contains(new DeviceKpiSnapshot(2, 2, 0, 2, 25));
+
+        tracker.onOwnershipChanged(new DeviceOwnershipChangedEvent("SN-2", "user-1", null, DeviceStatus.OFFLINE, 10));
+        tracker.onRemoved(new DeviceRemovedEvent("SN-1", "user-1"));
+
+        assertThat(tracker.snapshot("user-1")).contains(DeviceKpiSnapshot.EMPTY);
+    }
+
+    @Test
+    void reconciliationCorrectsDriftButKeepsNewerEvents() {
+        when(repository.findOwnedDeviceStates()).thenReturn(List.of(
+                new OwnedDeviceState("SN-1", "user-1", DeviceStatus.ONLINE, 80)));
+        tracker.reconcile();
+
+        // Rows changed outside this process, and an event newer than the next snapshot
+        when(repository.findOwnedDeviceStates()).thenAnswer(invocation -> {
+            tracker.onOwnershipChanged(new DeviceOwnershipChangedEvent("SN-3", null, "user-1", DeviceStatus.ONLINE, 60));
+            return List.of(
+                    new OwnedDeviceState("SN-1", "user-1", DeviceStatus.ERROR, 5),
+                    new OwnedDeviceState("SN-2", "user-1", DeviceStatus.OFFLINE, 40));
+        });
+        tracker.reconcile();
+
+        assertThat(tracker.snapshot("user-1")).contains(new DeviceKpiSnapshot(3, 1, 1, 1, 105));
+        assertThat(meterRegistry.counter("edge.kpi.drift").count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,98 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.ParkingOccupancyDto;
+import com.constructinsight.edgeserver.iot.application.dto.SpotOccupancyDto;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOccupancyChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.SpotPlacement;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParkingOccupancyIndexTests {
+
+    private static final long T0 = Instant.parse("2025-01-01T10:00:00Z").toEpochMilli();
+
+    private final AtomicLong now = new AtomicLong(T0);
+    private final IotDeviceRepository deviceRepository = mock(IotDeviceRepository.class);
+    private final ParkingOccupancyIndex index = new ParkingOccupancyIndex(deviceRepository, new SimpleMeterRegistry(),
+            List.of(Duration.ofMinutes(10), Duration.ofHours(1)), Duration.ofMinutes(1), now::get);
+
+    @BeforeEach
+    void placeSensors() {
+        when(deviceRepository.findSpotPlacements()).thenReturn(List.of(
+                new SpotPlacement("SN-1", "P-1", "A1"),
+                new SpotPlacement("SN-2", "P-1", "A2"),
+                new SpotPlacement("SN-3", "P-1", "A3"),
+                new SpotPlacement("SN-4", "P-2", "B1")));
+        index.refreshPlacements();
+    }
+
+    @Test
+    void countsFreeSpotsAmongReportedOnes() {
+        report("SN-1", true, 0);
+        report("SN-2", false, 0);
+
+        assertThat(index.freeSpots("P-1")).contains(1);
+        assertThat(index.parking("P-1")).hasValueSatisfying(parking -> {
+            assertThat(parking.spots()).isEqualTo(3);
+            assertThat(parking.occupiedSpots()).isEqualTo(1);
+            assertThat(parking.unknownSpots()).isEqualTo(1);
+        });
+        assertThat(index.spots("P-1", true)).hasValueSatisfying(spots ->
+                assertThat(spots).extracting(SpotOccupancyDto::parkingSpotId).containsExactly("A2"));
+        assertThat(index.freeSpots("P-9")).isEmpty();
+    }
+
+    @Test
+    void tracksDwellTimeAndSlidingWindowUtilization() {
+        report("SN-1", true, 0);
+        report("SN-2", false, 0);
+        report("SN-1", false, 20);
+        report("SN-1", true, 30);
+        now.set(T0 + Duration.ofMinutes(40).toMillis());
+
+        SpotOccupancyDto spot = index.spots("P-1", false).orElseThrow().get(0);
+        assertThat(spot.averageDwell()).isEqualTo(Duration.ofMinutes(20));
+        assertThat(spot.currentDwell()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(spot.sessions()).isEqualTo(1);
+
+        // Last 10 minutes: A1 occupied, A2 free; last hour (40 min elapsed): 30 of 80 spot-minutes occupied
+        List<ParkingOccupancyDto.Utilization> utilization = index.parking("P-1").orElseThrow().utilization();
+        assertThat(utilization.get(0).ratio()).isCloseTo(0.5, within(1e-9));
+        assertThat(utilization.get(1).ratio()).isCloseTo(30.0 / 80, within(1e-9));
+    }
+
+    @Test
+    void forgetsSensorsThatAreUnboundOrMoved() {
+        report("SN-1", true, 0);
+        index.onOwnershipChanged(new DeviceOwnershipChangedEvent("SN-1", "alice", null, DeviceStatus.ONLINE, 80));
+        report("SN-1", false, 1);
+
+        assertThat(index.parking("P-1").orElseThrow().spots()).isEqualTo(2);
+        assertThat(index.parking("P-1").orElseThrow().occupiedSpots()).isZero();
+
+        when(deviceRepository.findSpotPlacements()).thenReturn(List.of(new SpotPlacement("SN-4", "P-1", "A1")));
+        index.refreshPlacements();
+
+        assertThat(index.parking("P-1").orElseThrow().spots()).isEqualTo(1);
+        assertThat(index.parking("P-2").orElseThrow().spots()).isZero();
+    }
+
+    private void report(String serialNumber, boolean occupied, long minute) {
+        index.onOccupancyChanged(new DeviceOccupancyChangedEvent(serialNumber, occupied,
+                Instant.ofEpochMilli(T0 + Duration.ofMinutes(minute).toMillis())));
+    }
+}
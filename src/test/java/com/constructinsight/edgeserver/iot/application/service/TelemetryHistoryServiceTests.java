@@ -0,0 +1,128 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.DeviceHealthReport;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryRollup;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetrySample;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import com.constructinsight.edgeserver.iot.domain.port.TelemetryHistoryStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TelemetryHistoryServiceTests {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TelemetryHistoryStore store = mock(TelemetryHistoryStore.class);
+    private final IotDeviceRepository deviceRepository = mock(IotDeviceRepository.class);
+    private final TelemetryHistoryService service = new TelemetryHistoryService(store, deviceRepository,
+            meterRegistry, 3, 2, 100, Duration.ofHours(1),
+            Duration.ofDays(2), Duration.ofDays(14), Duration.ofDays(90), Duration.ofDays(730));
+
+    @Test
+    void flushWritesSamplesWithPreAggregatedRollups() {
+        List<TelemetrySample> samples = new ArrayList<>();
+        List<TelemetryRollup> rollups = new ArrayList<>();
+        doAnswer(invocation -> {
+            samples.addAll(invocation.getArgument(0));
+            rollups.addAll(invocation.getArgument(1));
+            return null;
+        }).when(store).append(anyList(), any());
+
+        service.record(report("SN-1", 80, new DeviceHealthReport(10, 1, 4, 40, 0.25)), T0);
+        service.record(report("SN-1", 60, null), T0.plusSeconds(30));
+        service.record(report("SN-1", 40, null), T0.plusSeconds(90));
+
+        assertThat(service.flush()).isEqualTo(3);
+        assertThat(samples).extracting(TelemetrySample::battery).containsExactly(80, 60, 40);
+        assertThat(samples.get(0).failures()).isEqualTo(1);
+        assertThat(samples.get(0).requests()).isEqualTo(4);
+
+        // Batches of 2: the first minute is merged within a batch, the hour bucket is written once per batch
+        assertThat(rollups).filteredOn(r -> r.resolution() == TelemetryResolution.MINUTE)
+                .extracting(TelemetryRollup::sampleCount)
+                .containsExactly(2L, 1L);
+        assertThat(rollups).filteredOn(r -> r.resolution() == TelemetryResolution.HOUR)
+                .extracting(TelemetryRollup::sampleCount)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void dropsSamplesWhenFullAndRequeuesFailedBatches() {
+        for (int i = 0; i < 4; i++) {
+            service.record(report("SN-1", 50, null), T0.plusSeconds(i));
+        }
+        assertThat(meterRegistry.counter("edge.history.dropped").count()).isEqualTo(1);
+
+        doThrow(new IllegalStateException("db down")).when(store).append(anyList(), any());
+        assertThat(service.flush()).isZero();
+        assertThat(service.pendingCount()).isEqualTo(3);
+    }
+
+    @Test
+    void choosesTheFinestRetainedResolutionThatFitsThePointBudget() {
+        Instant now = T0;
+
+        assertThat(service.chooseResolution(now.minusSeconds(1800), now, now)).isEqualTo(TelemetryResolution.RAW);
+        assertThat(service.chooseResolution(now.minus(Duration.ofMinutes(90)), now, now))
+                .isEqualTo(TelemetryResolution.MINUTE);
+        assertThat(service.chooseResolution(now.minus(Duration.ofDays(1)), now, now))
+                .isEqualTo(TelemetryResolution.HOUR);
+        // Minute rollups of 20 days ago are already purged
+        assertThat(service.chooseResolution(now.minus(Duration.ofDays(20)), now.minus(Duration.ofDays(20)).plusSeconds(3600), now))
+                .isEqualTo(TelemetryResolution.HOUR);
+        assertThat(service.chooseResolution(now.minus(Duration.ofDays(30)), now, now))
+                .isEqualTo(TelemetryResolution.DAY);
+    }
+
+    @Test
+    void onlyTheOwnerCanReadTheHistory() {
+        when(deviceRepository.findBySerialNumber("SN-1"))
+                .thenReturn(Optional.of(IotDevice.builder().serialNumber("SN-1").ownerId("alice").build()));
+        when(store.findRollups(eq("SN-1"), eq(TelemetryResolution.HOUR), any(), any(), anyInt()))
+                .thenReturn(List.of(TelemetryRollup.of(
+                        new TelemetrySample("SN-1", T0, 80, DeviceStatus.ERROR, true, 1, 4, null),
+                        TelemetryResolution.HOUR)));
+
+        assertThatThrownBy(() -> service.history("SN-1", "bob", T0, T0.plusSeconds(3600), null))
+                .isInstanceOf(SecurityException.class);
+        assertThat(service.history("SN-1", "alice", T0, T0.plusSeconds(3600), TelemetryResolution.HOUR).points())
+                .singleElement()
+                .satisfies(point -> {
+                    assertThat(point.averageBattery()).isEqualTo(80.0);
+                    assertThat(point.failingRate()).isEqualTo(0.25);
+                    assertThat(point.occupiedRatio()).isEqualTo(1.0);
+                    assertThat(point.errorSamples()).isEqualTo(1);
+                });
+
+        when(deviceRepository.findBySerialNumber(anyString())).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.history("SN-9", "alice", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TelemetryReportCommand report(String serialNumber, Integer battery, DeviceHealthReport health) {
+        return new TelemetryReportCommand(serialNumber, DeviceStatus.ONLINE, battery, null, true, health);
+    }
+}
@@ -0,0 +1,124 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryIngestionResult;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryIngestionResult.Outcome;
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceRemovedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import com.constructinsight.edgeserver.iot.domain.port.IotDeviceRepository;
+import com.constructinsight.edgeserver.iot.integration.service.BackendSyncPipeline;
+import com.constructinsight.edgeserver.iot.integration.service.OccupancyChangeDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TelemetryIngestionServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<DeviceTelemetryUpdate> written = new ArrayList<>();
+    private final TelemetryWriteBehindBuffer buffer = new TelemetryWriteBehindBuffer(
+            mock(DeviceTelemetryWriter.class, invocation -> {
+                if (invocation.getMethod().getName().equals("writeAll")) {
+                    written.addAll(invocation.getArgument(0));
+                }
+                return null;
+            }),
+            event -> { }, meterRegistry, 100, 100);
+    private final IotDeviceRepository repository = mock(IotDeviceRepository.class);
+    private final DeviceLaneExecutor laneExecutor =
+            new DeviceLaneExecutor(meterRegistry, 2, 100, Duration.ofMillis(20), true);
+    private final TelemetryIngestionService service = new TelemetryIngestionService(buffer,
+            mock(BackendSyncPipeline.class), new OccupancyChangeDetector(meterRegistry, Duration.ofMinutes(5)),
+            repository, mock(DeviceTelemetryWriter.class), event -> { },
+            laneExecutor, mock(TelemetryHistoryService.class),
+            mock(DeviceHealthTracker.class), meterRegistry, Duration.ofHours(1));
+
+    @Test
+    void dropsReportsOlderThanTheLastAppliedOne() throws InterruptedException {
+        laneExecutor.start();
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        service.submit(report("SN-1", 80, t0.plusSeconds(10)));
+        service.submit(report("SN-1", 90, t0));
+        service.submit(report("SN-1", 70, null));
+        service.submit(report("SN-1", 60, t0.plusSeconds(20)));
+        laneExecutor.drainAndStop();
+        buffer.flush();
+
+        assertThat(written).singleElement().satisfies(update -> {
+            assertThat(update.battery()).isEqualTo(60);
+            assertThat(update.lastCheckIn()).isEqualTo(t0.plusSeconds(20));
+        });
+        assertThat(meterRegistry.counter("edge.ingestion.out-of-order").count()).isEqualTo(1);
+    }
+
+    @Test
+    void forgetsTheWatermarkOfRemovedDevices() throws InterruptedException {
+        laneExecutor.start();
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        service.submit(report("SN-1", 80, t0.plusSeconds(10)));
+        laneExecutor.drainAndStop();
+        service.onRemoved(new DeviceRemovedEvent("SN-1", null));
+        laneExecutor.start();
+        service.submit(report("SN-1", 90, t0)); // re-registered device with an older clock
+        laneExecutor.drainAndStop();
+        buffer.flush();
+
+        assertThat(written).singleElement().extracting(DeviceTelemetryUpdate::battery).isEqualTo(90);
+        assertThat(meterRegistry.counter("edge.ingestion.out-of-order").count()).isZero();
+    }
+
+    @Test
+    void leavesTheStatusOfReportsWithoutOneToTheWriter() throws InterruptedException {
+        laneExecutor.start();
+
+        service.submit(new TelemetryReportCommand("SN-1", null, 50, null, null));
+        laneExecutor.drainAndStop();
+        buffer.flush();
+
+        assertThat(written).singleElement().extracting(DeviceTelemetryUpdate::status).isNull();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rejectsReportWithoutSerialNumber() {
+        assertThatThrownBy(() -> service.submit(report(" ", 80, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchRejectsInvalidItemsAndSubmitsTheRest() throws InterruptedException {
+        laneExecutor.start();
+
+        List<TelemetryIngestionResult> results = service.ingestBatch(Arrays.asList(
+                report("SN-1", 80, null), report("SN-2", 150, null), null, report("SN-1", 70, null)));
+        laneExecutor.drainAndStop();
+        buffer.flush();
+
+        assertThat(results).extracting(TelemetryIngestionResult::serialNumber, TelemetryIngestionResult::outcome)
+                .containsExactly(
+                        tuple("SN-1", Outcome.CREATED),
+                        tuple("SN-2", Outcome.REJECTED),
+                        tuple(null, Outcome.REJECTED),
+                        tuple("SN-1", Outcome.ACCEPTED));
+        assertThat(written).singleElement().extracting(DeviceTelemetryUpdate::battery).isEqualTo(70);
+    }
+
+    private static TelemetryReportCommand report(String serialNumber, Integer battery, Instant checkedAt) {
+        return new TelemetryReportCommand(serialNumber, DeviceStatus.ONLINE, battery, checkedAt, null);
+    }
+}
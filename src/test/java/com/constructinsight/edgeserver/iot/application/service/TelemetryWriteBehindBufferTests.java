@@ -0,0 +1,90 @@
+package com.constructinsight.edgeserver.iot.application.service;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.port.DeviceTelemetryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryWriteBehindBufferTests {
+
+    private final List<List<DeviceTelemetryUpdate>> writes = new ArrayList<>();
+
+    @Test
+    void coalescesReportsOfTheSameDevice() {
+        TelemetryWriteBehindBuffer buffer = new TelemetryWriteBehindBuffer(writer(writes::add), event -> { },
+                new SimpleMeterRegistry(), 100, 10);
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        buffer.offer(new DeviceTelemetryUpdate("SN-1", 80, DeviceStatus.ONLINE, t0));
+        buffer.offer(new DeviceTelemetryUpdate("SN-1", null, DeviceStatus.ERROR, t0.plusSeconds(5)));
+        buffer.flush();
+
+        assertThat(writes).hasSize(1);
+        assertThat(writes.get(0)).containsExactly(
+                new DeviceTelemetryUpdate("SN-1", 80, DeviceStatus.ERROR, t0.plusSeconds(5)));
+        assertThat(buffer.depth()).isZero();
+    }
+
+    @Test
+    void flushesInBatchesAndOnBackpressure() {
+        TelemetryWriteBehindBuffer buffer = new TelemetryWriteBehindBuffer(writer(writes::add), event -> { },
+                new SimpleMeterRegistry(), 5, 2);
+
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(new DeviceTelemetryUpdate("SN-" + i, 50, null, Instant.now()));
+        }
+
+        // The 6th device exceeded the bound, so the first five were flushed by the caller
+        assertThat(writes).hasSize(3);
+        assertThat(buffer.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void requeuesFailedBatchWithoutOverridingNewerReports() {
+        List<DeviceTelemetryUpdate> written = new ArrayList<>();
+        boolean[] fail = {true};
+        TelemetryWriteBehindBuffer buffer = new TelemetryWriteBehindBuffer(writer(updates -> {
+            if (fail[0]) {
+                throw new IllegalStateException("database down");
+            }
+            written.addAll(updates);
+        }), event -> { }, new SimpleMeterRegistry(), 100, 10);
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        buffer.offer(new DeviceTelemetryUpdate("SN-1", 70, DeviceStatus.ONLINE, t0));
+        buffer.flush();
+        buffer.offer(new DeviceTelemetryUpdate("SN-1", 60, null, t0.plusSeconds(10)));
+        fail[0] = false;
+        buffer.flush();
+
+        assertThat(written).containsExactly(
+                new DeviceTelemetryUpdate("SN-1", 60, DeviceStatus.ONLINE, t0.plusSeconds(10)));
+    }
+
+    private static DeviceTelemetryWriter writer(Consumer<List<DeviceTelemetryUpdate>> onWrite) {
+        return new DeviceTelemetryWriter() {
+            @Override
+            public void writeAll(List<DeviceTelemetryUpdate> updates) {
+                onWrite.accept(updates);
+            }
+
+            @Override
+            public void insertDiscovered(List<DeviceTelemetryUpdate> discovered) {
+            }
+
+            @Override
+            public List<String> markOffline(Collection<String> serialNumbers, Instant checkedInBefore) {
+                return List.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.constructinsight.edgeserver.iot.infrastructure.messaging;
+
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.application.service.TelemetryIngestionService;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.TelemetryReportMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MQTT ingestion against a local stub broker (minimal MQTT 3.1.1 over a plain socket)
+ * Messages are published with QoS 1: Paho acknowledges them only after the flow's
+ * handler returned, so every PUBACK proves a message was fully handled.
+ */
+@SpringJUnitConfig(MqttTelemetryConfigTests.TestConfig.class)
+class MqttTelemetryConfigTests {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final StubBroker broker = StubBroker.start();
+
+    @MockitoBean
+    private TelemetryIngestionService ingestionService;
+
+    @DynamicPropertySource
+    static void mqttProperties(DynamicPropertyRegistry registry) {
+        registry.add("edge.mqtt.enabled", () -> "true");
+        registry.add("edge.mqtt.url", () -> "tcp://localhost:" + broker.port());
+        registry.add("edge.mqtt.client-id", () -> "edge-server-test");
+        registry.add("edge.mqtt.clean-session", () -> "true");
+    }
+
+    @AfterAll
+    static void stopBroker() throws IOException {
+        broker.close();
+    }
+
+    @BeforeEach
+    void awaitSubscription() throws InterruptedException {
+        assertThat(broker.subscribed.await(WAIT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        clearInvocations(ingestionService);
+        when(ingestionService.submit(any())).thenReturn(true);
+    }
+
+    @Test
+    void deliversTelemetryToIngestion() throws InterruptedException {
+        broker.publish("spotfinder/telemetry/SN-1", "87,O,1");
+
+        broker.awaitAck();
+        verify(ingestionService, timeout(WAIT.toMillis())).submit(new TelemetryReportCommand(
+                "SN-1", DeviceStatus.ONLINE, 87, null, true));
+    }
+
+    @Test
+    void dropsMalformedPayloadsAndKeepsConsuming() throws InterruptedException {
+        when(ingestionService.submit(argThat(report -> report.serialNumber().equals("SN-3"))))
+                .thenThrow(new IllegalArgumentException("Battery must be between 0 and 100"));
+
+        broker.publish("spotfinder/telemetry/SN-1", "not-telemetry");
+        broker.publish("spotfinder/telemetry/SN-2", "{\"battery\":");
+        broker.publish("spotfinder/telemetry/SN-3", "250,O,1");
+        broker.publish("spotfinder/telemetry/SN-4", "40,O,0");
+
+        for (int i = 0; i < 4; i++) {
+            broker.awaitAck();
+        }
+        verify(ingestionService, timeout(WAIT.toMillis())).submit(new TelemetryReportCommand(
+                "SN-4", DeviceStatus.ONLINE, 40, null, false));
+        assertThat(broker.connections).hasValue(1); // never dropped and reconnected
+    }
+
+    @Configuration
+    @EnableIntegration
+    @Import({MqttTelemetryConfig.class, MqttTelemetryPayloadDecoder.class, TelemetryReportMapper.class})
+    static class TestConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    /**
+     * Single-client broker: acknowledges CONNECT, (UN)SUBSCRIBE and PINGREQ, and pushes
+     * QoS 1 PUBLISH packets to the subscribed client
+     */
+    private static final class StubBroker implements AutoCloseable {
+
+        private final ServerSocket server;
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private final AtomicInteger connections = new AtomicInteger();
+        private final BlockingQueue<Integer> acks = new LinkedBlockingQueue<>();
+        private final AtomicInteger packetIds = new AtomicInteger();
+        private volatile OutputStream client;
+
+        private StubBroker(ServerSocket server) {
+            this.server = server;
+        }
+
+        static StubBroker start() {
+            try {
+                StubBroker broker = new StubBroker(new ServerSocket(0, 1, InetAddress.getLoopbackAddress()));
+                Thread.ofPlatform().daemon(true).name("mqtt-stub-broker").start(broker::accept);
+                return broker;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        void publish(String topic, String payload) {
+            byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+            int packetId = packetIds.incrementAndGet();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            writeShort(body, topicBytes.length);
+            body.writeBytes(topicBytes);
+            writeShort(body, packetId);
+            body.writeBytes(payload.getBytes(StandardCharsets.UTF_8));
+            send(0x32, body.toByteArray()); // PUBLISH, QoS 1
+        }
+
+        void awaitAck() throws InterruptedException {
+            assertThat(acks.poll(WAIT.toMillis(), TimeUnit.MILLISECONDS)).as("PUBACK").isNotNull();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    connections.incrementAndGet();
+                    client = socket.getOutputStream();
+                    serve(new DataInputStream(socket.getInputStream()));
+                } catch (IOException e) {
+                    // Client disconnected or broker closed
+                }
+            }
+        }
+
+        private void serve(DataInputStream in) throws IOException {
+            while (true) {
+                int type = in.readUnsignedByte() >> 4;
+                byte[] body = in.readNBytes(readRemainingLength(in));
+                switch (type) {
+                    case 1 -> send(0x20, new byte[]{0, 0}); // CONNECT -> CONNACK accepted
+                    case 4 -> acks.add(((body[0] & 0xFF) << 8) | (body[1] & 0xFF)); // PUBACK
+                    case 8 -> { // SUBSCRIBE -> SUBACK granting QoS 1 to the single filter
+                        send(0x90, new byte[]{body[0], body[1], 1});
+                        subscribed.countDown();
+                    }
+                    case 10 -> send(0xB0, new byte[]{body[0], body[1]}); // UNSUBSCRIBE -> UNSUBACK
+                    case 12 -> send(0xD0, new byte[0]); // PINGREQ -> PINGRESP
+                    case 14 -> { // DISCONNECT
+                        return;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        private synchronized void send(int header, byte[] body) {
+            try {
+                ByteArrayOutputStream packet = new ByteArrayOutputStream();
+                packet.write(header);
+                int length = body.length;
+                do {
+                    int digit = length % 128;
+                    length /= 128;
+                    packet.write(length > 0 ? digit | 0x80 : digit);
+                } while (length > 0);
+                packet.writeBytes(body);
+                client.write(packet.toByteArray());
+                client.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int readRemainingLength(DataInputStream in) throws IOException {
+            int length = 0;
+            int multiplier = 1;
+            int digit;
+            do {
+                digit = in.readUnsignedByte();
+                length += (digit & 0x7F) * multiplier;
+                multiplier *= 128;
+            } while ((digit & 0x80) != 0);
+            return length;
+        }
+
+        private static void writeShort(ByteArrayOutputStream out, int value) {
+            out.write(value >> 8);
+            out.write(value & 0xFF);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.constructinsight.edgeserver.iot.infrastructure.messaging;
+
+import com.constructinsight.edgeserver.iot.application.dto.TelemetryReportCommand;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.telemetry.TelemetryReportMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MqttTelemetryPayloadDecoderTests {
+
+    private final MqttTelemetryPayloadDecoder decoder = new MqttTelemetryPayloadDecoder(
+            new ObjectMapper().registerModule(new JavaTimeModule()), new TelemetryReportMapper());
+
+    @Test
+    void decodesCompactPayloadWithSerialFromTopic() {
+        TelemetryReportCommand command = decoder.decode("spotfinder/telemetry/SN-7", bytes("87,O,1,1735689600"));
+
+        assertThat(command).isEqualTo(new TelemetryReportCommand(
+                "SN-7", DeviceStatus.ONLINE, 87, Instant.ofEpochSecond(1735689600), true));
+    }
+
+    @Test
+    void compactPayloadKeepsMissingFieldsAsNotReported() {
+        TelemetryReportCommand command = decoder.decode("spotfinder/telemetry/SN-7", bytes(",,0"));
+
+        assertThat(command).isEqualTo(new TelemetryReportCommand("SN-7", null, null, null, false));
+    }
+
+    @Test
+    void decodesJsonPayload() {
+        TelemetryReportCommand command = decoder.decode("spotfinder/telemetry/SN-7",
+                bytes("{\"status\":\"error\",\"battery\":12,\"occupied\":true}"));
+
+        assertThat(command).isEqualTo(new TelemetryReportCommand("SN-7", DeviceStatus.ERROR, 12, null, true));
+    }
+
+    @Test
+    void rejectsMalformedCompactPayload() {
+        assertThatThrownBy(() -> decoder.decode("spotfinder/telemetry/SN-7", bytes("87")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.sensor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingIotDeviceRepositoryTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IotDeviceRepositoryAdapter delegate = mock(IotDeviceRepositoryAdapter.class);
+    private final DeviceSnapshotCache cache = new DeviceSnapshotCache(meterRegistry, 2, Duration.ofMinutes(1));
+    private final CachingIotDeviceRepository repository = new CachingIotDeviceRepository(delegate, cache);
+
+    @Test
+    void servesRepeatedLookupsFromCache() {
+        when(delegate.findBySerialNumber("SN-1")).thenReturn(Optional.of(device("SN-1")));
+
+        repository.findBySerialNumber("SN-1");
+        Optional<IotDevice> second = repository.findBySerialNumber("SN-1");
+
+        assertThat(second).map(IotDevice::getSerialNumber).contains("SN-1");
+        verify(delegate, times(1)).findBySerialNumber("SN-1");
+        assertThat(meterRegistry.counter("edge.device.cache.hits").count()).isEqualTo(1);
+    }
+
+    @Test
+    void returnedSnapshotsAreIndependentCopies() {
+        when(delegate.findBySerialNumber("SN-1")).thenReturn(Optional.of(device("SN-1")));
+        repository.findBySerialNumber("SN-1");
+
+        repository.findBySerialNumber("SN-1").orElseThrow().bind("mallory");
+
+        assertThat(repository.findBySerialNumber("SN-1").orElseThrow().getOwnerId()).isNull();
+    }
+
+    @Test
+    void saveInvalidatesTheCachedDevice() {
+        IotDevice device = device("SN-1");
+        when(delegate.findBySerialNumber("SN-1")).thenReturn(Optional.of(device));
+        when(delegate.save(device)).thenReturn(device);
+
+        repository.findBySerialNumber("SN-1");
+        repository.save(device);
+        repository.findBySerialNumber("SN-1");
+
+        verify(delegate, times(2)).findBySerialNumber("SN-1");
+    }
+
+    @Test
+    void doesNotCacheALoadOvertakenByAnEviction() {
+        // A write commits (and evicts) while this lookup is still reading the old row
+        when(delegate.findBySerialNumber("SN-1")).thenAnswer(invocation -> {
+            IotDevice stale = device("SN-1");
+            cache.evict("SN-1");
+            return Optional.of(stale);
+        });
+
+        repository.findBySerialNumber("SN-1");
+        repository.findBySerialNumber("SN-1");
+
+        verify(delegate, times(2)).findBySerialNumber("SN-1");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void findForUpdateBypassesTheCache() {
+        when(delegate.findBySerialNumber("SN-1")).thenReturn(Optional.of(device("SN-1")));
+        when(delegate.findForUpdate("SN-1")).thenReturn(Optional.of(device("SN-1")));
+        repository.findBySerialNumber("SN-1");
+
+        repository.findForUpdate("SN-1");
+
+        verify(delegate).findForUpdate("SN-1");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        cache.put(device("SN-1"), cache.stamp());
+        cache.put(device("SN-2"), cache.stamp());
+        cache.get("SN-1");
+        cache.put(device("SN-3"), cache.stamp());
+
+        assertThat(cache.get("SN-2")).isEmpty();
+        assertThat(cache.get("SN-1")).isPresent();
+        assertThat(meterRegistry.counter("edge.device.cache.evictions").count()).isEqualTo(1);
+    }
+
+    private static IotDevice device(String serialNumber) {
+        return sensor(serialNumber).id(1L).build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.sensor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate actually generates for the device lookups and checks
+ * the index the optimizer picks (H2 in MySQL mode names it in the plan). The table is seeded
+ * with a small fleet and analyzed first, so the choice follows real selectivity.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.constructinsight.edgeserver.iot.infrastructure.persistence.IotDeviceQueryPlanTests$CapturingInspector")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IotDeviceRepositoryAdapter.class, JdbcDeviceBulkWriter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IotDeviceQueryPlanTests {
+
+    private static final int FLEET = 2_000;
+    private static final int OWNERS = 20;
+    private static final int PARKINGS = 40;
+
+    @Autowired
+    private IotDeviceRepositoryAdapter adapter;
+
+    @Autowired
+    private JdbcDeviceBulkWriter bulkWriter;
+
+    @Autowired
+    private JpaIotDeviceRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedFleet() {
+        List<IotDevice> fleet = new ArrayList<>(FLEET);
+        for (int i = 0; i < FLEET; i++) {
+            fleet.add(sensor("SN-" + i)
+                    .status(DeviceStatus.values()[i % DeviceStatus.values().length])
+                    .battery(i % 101)
+                    .ownerId("user-" + (i % OWNERS))
+                    .parkingId("PARKING-" + (i % PARKINGS))
+                    .parkingSpotId("SPOT-" + i)
+                    .build());
+        }
+        bulkWriter.insertBatch(fleet);
+        jdbcTemplate.execute("ANALYZE");
+        CapturingInspector.last = null;
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listingWithoutFiltersWalksOwnerIndexInIdOrder() {
+        adapter.findPageByOwner(new DeviceSearchCriteria("user-1", null, null, null, null, null), 0L, 10);
+
+        assertThat(explainLast("user-1", 0L, 10)).contains("IDX_OWNER_ID");
+    }
+
+    @Test
+    void listingWithStatusAndBatteryUsesCompositeIndex() {
+        adapter.findPageByOwner(new DeviceSearchCriteria("user-1", DeviceStatus.ONLINE, null, null, 20, null), 0L, 10);
+
+        assertThat(explainLast("user-1", 0L, "ONLINE", 20, 10))
+                .contains("IDX_OWNER_STATUS_BATTERY")
+                .contains("BATTERY >=");
+    }
+
+    @Test
+    void kpiAggregateIsCoveredByCompositeIndex() {
+        adapter.aggregateKpisByOwnerId("user-1", DeviceKpiSnapshot.LOW_BATTERY_THRESHOLD);
+
+        assertThat(explainLast("ONLINE", "OFFLINE", DeviceKpiSnapshot.LOW_BATTERY_THRESHOLD, "user-1"))
+                .contains("IDX_OWNER_STATUS_BATTERY");
+    }
+
+    @Test
+    void parkingLookupsUseParkingIndexes() {
+        adapter.findByParking("user-1", "PARKING-1", DeviceStatus.ONLINE);
+        assertThat(explainLast("PARKING-1", "user-1", "ONLINE"))
+                .contains("IDX_PARKING_OWNER").contains("OWNER_ID =").contains("STATUS =");
+
+        adapter.findByParking("user-1", "PARKING-1", null);
+        assertThat(explainLast("PARKING-1", "user-1")).contains("IDX_PARKING_OWNER").contains("OWNER_ID =");
+
+        adapter.findByParkingSpot("user-1", "PARKING-1", "SPOT-1");
+        assertThat(explainLast("PARKING-1", "SPOT-1", "user-1")).contains("IDX_PARKING_SPOT").contains("PARKING_SPOT_ID =");
+    }
+
+    /**
+     * Plan of the last statement Hibernate prepared, bound with the given parameters in order
+     */
+    private String explainLast(Object... parameters) {
+        String sql = CapturingInspector.last;
+        assertThat(sql).as("captured SQL").isNotNull();
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+        return String.join("\n", plan);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static volatile String last;
+
+        @Override
+        public String inspect(String sql) {
+            last = sql;
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceKpiSnapshot;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSearchCriteria;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceView;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.domain.model.OwnedDeviceState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.sensor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IotDeviceRepositoryAdapter.class, JdbcDeviceBulkWriter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IotDeviceRepositoryAdapterTests {
+
+    private static final int LOW_BATTERY = 20;
+    private static final int BENCHMARK_DEVICES = 100_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private IotDeviceRepositoryAdapter adapter;
+
+    @Autowired
+    private JdbcDeviceBulkWriter bulkWriter;
+
+    @Autowired
+    private JpaIotDeviceRepository jpaRepository;
+
+    @AfterEach
+    void cleanUp() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aggregatesKpisForOwnerOnly() {
+        bulkWriter.insertBatch(List.of(
+                device("SN-1", "user-1", DeviceStatus.ONLINE, 90),
+                device("SN-2", "user-1", DeviceStatus.OFFLINE, 10),
+                device("SN-3", "user-1", DeviceStatus.MAINTENANCE, 50),
+                device("SN-4", "user-2", DeviceStatus.ONLINE, 5),
+                device("SN-5", null, DeviceStatus.OFFLINE, 5)));
+
+        DeviceKpiSnapshot snapshot = adapter.aggregateKpisByOwnerId("user-1", LOW_BATTERY);
+
+        assertThat(snapshot).isEqualTo(new DeviceKpiSnapshot(3L, 1L, 1L, 1L, 150L));
+        assertThat(snapshot.averageBattery()).isEqualTo(50.0);
+    }
+
+    @Test
+    void returnsEmptySnapshotForOwnerWithoutDevices() {
+        assertThat(adapter.aggregateKpisByOwnerId("nobody", LOW_BATTERY)).isEqualTo(DeviceKpiSnapshot.EMPTY);
+    }
+
+    @Test
+    void projectsStateOfBoundDevicesOnly() {
+        bulkWriter.insertBatch(List.of(
+                device("SN-1", "user-1", DeviceStatus.ONLINE, 90),
+                device("SN-2", null, DeviceStatus.OFFLINE, 10)));
+
+        assertThat(adapter.findOwnedDeviceStates())
+                .containsExactly(new OwnedDeviceState("SN-1", "user-1", DeviceStatus.ONLINE, 90));
+    }
+
+    @Test
+    void pagesByKeysetWithOptionalFilters() {
+        List<IotDevice> devices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            devices.add(device("SN-" + i, "user-1", i % 2 == 0 ? DeviceStatus.ONLINE : DeviceStatus.OFFLINE, i * 20));
+        }
+        devices.add(device("SN-other", "user-2", DeviceStatus.ONLINE, 50));
+        bulkWriter.insertBatch(devices);
+
+        DeviceSearchCriteria all = new DeviceSearchCriteria("user-1", null, null, null, null, null);
+        List<DeviceView> first = adapter.findPageByOwner(all, 0L, 3);
+        List<DeviceView> second = adapter.findPageByOwner(all, first.get(2).id(), 3);
+
+        assertThat(first).extracting(DeviceView::serialNumber).containsExactly("SN-0", "SN-1", "SN-2");
+        assertThat(second).extracting(DeviceView::serialNumber).containsExactly("SN-3", "SN-4");
+
+        DeviceSearchCriteria filtered = new DeviceSearchCriteria("user-1", DeviceStatus.ONLINE, DeviceType.SENSOR, null, 30, 100);
+        assertThat(adapter.findPageByOwner(filtered, 0L, 10))
+                .extracting(DeviceView::serialNumber).containsExactly("SN-2", "SN-4");
+    }
+
+    @Test
+    void findsOwnDevicesByParkingAndSpot() {
+        IotDevice onlineA1 = device("SN-1", "user-1", DeviceStatus.ONLINE, 90);
+        onlineA1.setParkingId("P-1");
+        onlineA1.setParkingSpotId("A1");
+        IotDevice offlineA2 = device("SN-2", "user-1", DeviceStatus.OFFLINE, 10);
+        offlineA2.setParkingId("P-1");
+        offlineA2.setParkingSpotId("A2");
+        IotDevice otherOwner = device("SN-3", "user-2", DeviceStatus.ONLINE, 50);
+        otherOwner.setParkingId("P-1");
+        otherOwner.setParkingSpotId("A3");
+        IotDevice otherParking = device("SN-4", "user-1", DeviceStatus.ONLINE, 50);
+        otherParking.setParkingId("P-2");
+        otherParking.setParkingSpotId("A1");
+        bulkWriter.insertBatch(List.of(onlineA1, offlineA2, otherOwner, otherParking));
+
+        assertThat(adapter.findByParking("user-1", "P-1", null))
+                .extracting(DeviceView::serialNumber).containsExactly("SN-1", "SN-2");
+        assertThat(adapter.findByParking("user-1", "P-1", DeviceStatus.OFFLINE))
+                .extracting(DeviceView::serialNumber).containsExactly("SN-2");
+        assertThat(adapter.findByParkingSpot("user-1", "P-1", "A1"))
+                .extracting(DeviceView::serialNumber).containsExactly("SN-1");
+        assertThat(adapter.findByParkingSpot("user-1", "P-1", "A3")).isEmpty();
+        assertThat(adapter.findByParkingSpot("user-1", "P-2", "A2")).isEmpty();
+    }
+
+    /**
+     * Dashboard refresh for an owner with 100k devices: entity hydration + stream passes
+     * (previous getKpis) vs a single aggregate query. Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAggregateQueryAgainstEntityLoading() {
+        List<IotDevice> chunk = new ArrayList<>(1_000);
+        for (int i = 0; i < BENCHMARK_DEVICES; i++) {
+            chunk.add(device("BENCH-" + i, "fleet", DeviceStatus.values()[i % 4], i % 101));
+            if (chunk.size() == 1_000) {
+                bulkWriter.insertBatch(chunk);
+                chunk.clear();
+            }
+        }
+
+        DeviceKpiSnapshot expected = loadAndCount();
+        assertThat(adapter.aggregateKpisByOwnerId("fleet", LOW_BATTERY)).isEqualTo(expected);
+
+        long loadStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            loadAndCount();
+        }
+        double loadMillis = millis(loadStart) / ROUNDS;
+
+        long aggregateStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            adapter.aggregateKpisByOwnerId("fleet", LOW_BATTERY);
+        }
+        double aggregateMillis = millis(aggregateStart) / ROUNDS;
+
+        System.out.printf("KPIs over %d devices: entity loading %.1f ms, aggregate query %.1f ms (x%.1f)%n",
+                BENCHMARK_DEVICES, loadMillis, aggregateMillis, loadMillis / aggregateMillis);
+    }
+
+    private DeviceKpiSnapshot loadAndCount() {
+        List<IotDevice> devices = jpaRepository.findAll(); // every benchmark device belongs to "fleet"
+        return new DeviceKpiSnapshot(
+                devices.size(),
+                devices.stream().filter(d -> d.getStatus() == DeviceStatus.ONLINE).count(),
+                devices.stream().filter(d -> d.getStatus() == DeviceStatus.OFFLINE).count(),
+                devices.stream().filter(d -> d.getBattery() < LOW_BATTERY).count(),
+                devices.stream().mapToLong(IotDevice::getBattery).sum());
+    }
+
+    private static double millis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static IotDevice device(String serialNumber, String ownerId, DeviceStatus status, int battery) {
+        return sensor(serialNumber).ownerId(ownerId).status(status).battery(battery).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.device;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcDeviceBulkWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcDeviceBulkWriterTests {
+
+    private static final int BENCHMARK_ROWS = 20_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private JdbcDeviceBulkWriter bulkWriter;
+
+    @Autowired
+    private JpaIotDeviceRepository jpaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertsChunkAndSkipsExistingSerialNumbers() {
+        bulkWriter.insertBatch(List.of(device("SN-1")));
+
+        int inserted = bulkWriter.insertBatch(List.of(device("SN-1"), device("SN-2"), device("SN-3")));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(jpaRepository.count()).isEqualTo(3);
+        assertThat(jpaRepository.findBySerialNumber("SN-2")).get()
+                .satisfies(d -> {
+                    assertThat(d.getOwnerId()).isNull();
+                    assertThat(d.getCreatedAt()).isNotNull();
+                });
+    }
+
+    @Test
+    void doesNotCountRowsInsertedConcurrently() {
+        bulkWriter.insertBatch(List.of(device("SN-1")));
+
+        // Another import inserts SN-3 between this chunk's pre-read and its insert
+        JdbcTemplate racingTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, PreparedStatementSetter setter) {
+                bulkWriter.insertBatch(List.of(device("SN-3")));
+                return super.update(sql, setter);
+            }
+        };
+        JdbcDeviceBulkWriter writer = new JdbcDeviceBulkWriter(racingTemplate);
+
+        int inserted = writer.insertBatch(List.of(
+                device("SN-1"), device("SN-2"), device("SN-3"), device("SN-3"), device("SN-4")));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(jpaRepository.count()).isEqualTo(4);
+    }
+
+    /**
+     * Rows/sec of JPA saveAll (IDENTITY ids, one INSERT per row) vs chunked multi-row inserts.
+     * Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkJdbcBatchAgainstJpaSaveAll() {
+        List<IotDevice> jpaDevices = IntStream.range(0, BENCHMARK_ROWS).mapToObj(i -> device("JPA-" + i)).toList();
+        long jpaStart = System.nanoTime();
+        jpaRepository.saveAll(jpaDevices);
+        double jpaRowsPerSec = BENCHMARK_ROWS / seconds(jpaStart);
+        jpaRepository.deleteAllInBatch();
+
+        long jdbcStart = System.nanoTime();
+        List<IotDevice> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < BENCHMARK_ROWS; i++) {
+            chunk.add(device("JDBC-" + i));
+            if (chunk.size() == CHUNK_SIZE) {
+                bulkWriter.insertBatch(chunk);
+                chunk.clear();
+            }
+        }
+        double jdbcRowsPerSec = BENCHMARK_ROWS / seconds(jdbcStart);
+
+        System.out.printf("Bulk import of %d devices: JPA saveAll %.0f rows/s, JDBC multi-row %.0f rows/s (x%.1f)%n",
+                BENCHMARK_ROWS, jpaRowsPerSec, jdbcRowsPerSec, jdbcRowsPerSec / jpaRowsPerSec);
+        assertThat(jpaRepository.count()).isEqualTo(BENCHMARK_ROWS);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
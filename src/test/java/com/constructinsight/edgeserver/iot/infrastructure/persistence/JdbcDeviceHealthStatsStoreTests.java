@@ -0,0 +1,61 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceHealthStats;
+import com.constructinsight.edgeserver.iot.domain.model.FailingRateSketch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcDeviceHealthStatsStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcDeviceHealthStatsStoreTests {
+
+    @Autowired
+    private JdbcDeviceHealthStatsStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM device_health_stats");
+    }
+
+    @Test
+    void upsertsAndRestoresTheSketch() {
+        FailingRateSketch sketch = new FailingRateSketch();
+        for (int i = 0; i < FailingRateSketch.MAX_TOTAL - 1; i++) {
+            sketch.add(0.99);
+        }
+        Instant at = Instant.parse("2025-01-01T00:00:00Z");
+
+        store.saveAll(List.of(new DeviceHealthStats("SN-1", 1, 0.1, 0.1, 0.1, null, null, new FailingRateSketch(), at)));
+        store.saveAll(List.of(new DeviceHealthStats("SN-1", 4095, 0.9, 0.1, 0.99, 12, 400, sketch, at.plusSeconds(5))));
+
+        assertThat(store.findAll()).singleElement().satisfies(stats -> {
+            assertThat(stats.samples()).isEqualTo(4095);
+            assertThat(stats.maxFailingRate()).isEqualTo(0.99);
+            assertThat(stats.failuresSinceStartup()).isEqualTo(12);
+            assertThat(stats.sketch().counts()).isEqualTo(sketch.counts());
+            assertThat(stats.lastReportAt()).isEqualTo(at.plusSeconds(5));
+        });
+
+        store.deleteBySerialNumber("SN-1");
+        assertThat(store.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.device;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcDeviceBulkWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcDeviceSyncStatusWriterTests {
+
+    private static final int DEVICES = JdbcDeviceSyncStatusWriter.MAX_IN_CLAUSE + 100;
+
+    @Autowired
+    private JdbcDeviceBulkWriter bulkWriter;
+
+    @Autowired
+    private JpaIotDeviceRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void updatesOnlyDevicesWhoseStatusChangesAcrossInClauseChunks() {
+        List<String> serialNumbers = IntStream.range(0, DEVICES).mapToObj(i -> "SN-" + i).toList();
+        bulkWriter.insertBatch(serialNumbers.stream().map(TestDevices::device).toList());
+        JdbcDeviceSyncStatusWriter writer = new JdbcDeviceSyncStatusWriter(jdbcTemplate,
+                new DeviceSnapshotCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)));
+
+        List<String> withUnknown = new ArrayList<>(serialNumbers);
+        withUnknown.add("SN-UNKNOWN");
+
+        assertThat(writer.updateSyncStatus(DeviceSyncStatus.CONNECTED, withUnknown)).isEqualTo(DEVICES);
+        assertThat(writer.updateSyncStatus(DeviceSyncStatus.CONNECTED, withUnknown)).isZero();
+        assertThat(writer.updateSyncStatus(DeviceSyncStatus.DISCONNECTED, List.of("SN-1"))).isEqualTo(1);
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get()
+                .extracting(IotDevice::getSyncStatus).isEqualTo(DeviceSyncStatus.DISCONNECTED);
+        assertThat(jpaRepository.findBySerialNumber("SN-2")).get()
+                .extracting(IotDevice::getSyncStatus).isEqualTo(DeviceSyncStatus.CONNECTED);
+    }
+}
@@ -0,0 +1,213 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceTelemetryUpdate;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.device;
+import static com.constructinsight.edgeserver.iot.infrastructure.persistence.TestDevices.sensor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcDeviceBulkWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcDeviceTelemetryWriterTests {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 50;
+    private static final int BENCHMARK_DEVICES = 1_000;
+    private static final int BENCHMARK_INGESTS = 20_000;
+
+    @Autowired
+    private JdbcDeviceBulkWriter bulkWriter;
+
+    @Autowired
+    private JpaIotDeviceRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcDeviceTelemetryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new JdbcDeviceTelemetryWriter(jdbcTemplate,
+                new DeviceSnapshotCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void discoversUnknownDeviceThenUpdatesOnlyReportedFields() {
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        writer.writeAll(List.of(new DeviceTelemetryUpdate("SN-1", 80, DeviceStatus.ONLINE, t0)));
+        writer.writeAll(List.of(new DeviceTelemetryUpdate("SN-1", null, DeviceStatus.ERROR, t0.plusSeconds(5))));
+
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get().satisfies(d -> {
+            assertThat(d.getModel()).isEqualTo("Auto-Discovered");
+            assertThat(d.getOwnerId()).isNull();
+            assertThat(d.getBattery()).isEqualTo(80);
+            assertThat(d.getStatus()).isEqualTo(DeviceStatus.ERROR);
+            assertThat(d.getLastCheckIn()).isEqualTo(t0.plusSeconds(5));
+        });
+    }
+
+    @Test
+    void marksSilentDevicesOfflineUntilTheyReportAgain() {
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        writer.writeAll(List.of(
+                new DeviceTelemetryUpdate("SN-1", 80, DeviceStatus.ONLINE, t0),
+                new DeviceTelemetryUpdate("SN-2", 80, DeviceStatus.ONLINE, t0.plusSeconds(120))));
+
+        assertThat(writer.markOffline(List.of("SN-1", "SN-2"), t0.plusSeconds(60))).containsExactly("SN-1");
+        assertThat(writer.markOffline(List.of("SN-1"), t0.plusSeconds(60))).isEmpty();
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get()
+                .extracting(IotDevice::getStatus).isEqualTo(DeviceStatus.OFFLINE);
+
+        writer.writeAll(List.of(new DeviceTelemetryUpdate("SN-1", 75, null, t0.plusSeconds(180))));
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get()
+                .extracting(IotDevice::getStatus).isEqualTo(DeviceStatus.ONLINE);
+    }
+
+    @Test
+    void reportsWithoutStatusKeepMaintenance() {
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        writer.writeAll(List.of(new DeviceTelemetryUpdate("SN-1", 80, DeviceStatus.MAINTENANCE, t0)));
+        writer.writeAll(List.of(
+                new DeviceTelemetryUpdate("SN-1", 75, null, t0.plusSeconds(60)),
+                new DeviceTelemetryUpdate("SN-2", 75, null, t0.plusSeconds(60))));
+
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get()
+                .extracting(IotDevice::getStatus).isEqualTo(DeviceStatus.MAINTENANCE);
+        assertThat(jpaRepository.findBySerialNumber("SN-2")).get()
+                .extracting(IotDevice::getStatus).isEqualTo(DeviceStatus.ONLINE);
+    }
+
+    @Test
+    void registrationKeepsExistingDeviceAndReturnsItsId() {
+        long id = bulkWriter.insertIfAbsent(device("SN-1"));
+
+        assertThat(bulkWriter.insertIfAbsent(sensor("SN-1").model("Model-Y").build())).isEqualTo(id);
+        assertThat(jpaRepository.findBySerialNumber("SN-1")).get()
+                .extracting(IotDevice::getModel).isEqualTo("Model-X");
+    }
+
+    @Test
+    void concurrentFirstReportsAndRegistrationsOfSameSerialNeverConflict() throws InterruptedException {
+        Set<Long> registeredIds = ConcurrentHashMap.newKeySet();
+        Set<Throwable> errors = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            boolean registers = t % 2 == 0;
+            int battery = t;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        if (registers) {
+                            registeredIds.add(bulkWriter.insertIfAbsent(device("SN-HOT")));
+                        } else {
+                            writer.writeAll(List.of(
+                                    new DeviceTelemetryUpdate("SN-HOT", battery, DeviceStatus.ONLINE, Instant.now())));
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(errors).isEmpty();
+        assertThat(jpaRepository.count()).isEqualTo(1);
+        assertThat(registeredIds).singleElement()
+                .isEqualTo(jpaRepository.findBySerialNumber("SN-HOT").orElseThrow().getId());
+    }
+
+    /**
+     * Heap allocated per ingest on the calling thread: load the managed entity, set the
+     * telemetry fields and flush (dirty checking, @PreUpdate) vs the targeted upsert.
+     * Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAllocationPerIngestAgainstEntityUpdate() {
+        for (int i = 0; i < BENCHMARK_DEVICES; i++) {
+            bulkWriter.insertIfAbsent(device("BENCH-" + i));
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        IntConsumer entityIngest = i -> tx.executeWithoutResult(status -> {
+            IotDevice device = jpaRepository.findBySerialNumber("BENCH-" + (i % BENCHMARK_DEVICES)).orElseThrow();
+            device.setBattery(i % 101);
+            device.setStatus(DeviceStatus.ONLINE);
+            device.setLastCheckIn(Instant.now());
+        });
+        IntConsumer writerIngest = i -> tx.executeWithoutResult(status -> writer.writeAll(List.of(
+                new DeviceTelemetryUpdate("BENCH-" + (i % BENCHMARK_DEVICES), i % 101, DeviceStatus.ONLINE, Instant.now()))));
+
+        double[] entity = measure(threads, entityIngest);
+        double[] targeted = measure(threads, writerIngest);
+
+        System.out.printf("Per ingest: entity update %.0f bytes / %.1f us, targeted upsert %.0f bytes / %.1f us "
+                        + "(x%.1f less allocation)%n",
+                entity[0], entity[1], targeted[0], targeted[1], entity[0] / targeted[0]);
+    }
+
+    /**
+     * @return bytes allocated and microseconds per call, after a warm-up
+     */
+    private static double[] measure(com.sun.management.ThreadMXBean threads, IntConsumer ingest) {
+        for (int i = 0; i < BENCHMARK_INGESTS; i++) {
+            ingest.accept(i);
+        }
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_INGESTS; i++) {
+            ingest.accept(i);
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new double[]{(double) bytes / BENCHMARK_INGESTS, nanos / 1_000.0 / BENCHMARK_INGESTS};
+    }
+}
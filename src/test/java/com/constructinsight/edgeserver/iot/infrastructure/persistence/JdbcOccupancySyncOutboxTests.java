@@ -0,0 +1,71 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.OccupancySyncEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcOccupancySyncOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcOccupancySyncOutboxTests {
+
+    @Autowired
+    private JdbcOccupancySyncOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM backend_sync_outbox");
+    }
+
+    @Test
+    void keepsOnlyLatestStatePerSerialNumberOrderedBySequence() {
+        outbox.appendAll(List.of(entry("SN-1", true, 1), entry("SN-2", true, 2)));
+        outbox.appendAll(List.of(entry("SN-1", false, 3)));
+
+        assertThat(outbox.count()).isEqualTo(2);
+        assertThat(outbox.maxSequence()).isEqualTo(3);
+        assertThat(outbox.fetchOldest(10)).containsExactly(entry("SN-2", true, 2), entry("SN-1", false, 3));
+        assertThat(outbox.fetchOldest(1)).containsExactly(entry("SN-2", true, 2));
+    }
+
+    @Test
+    void deliveryOfAnOlderStateKeepsTheNewerOne() {
+        outbox.appendAll(List.of(entry("SN-1", true, 1), entry("SN-2", true, 2)));
+        List<OccupancySyncEntry> sent = outbox.fetchOldest(10);
+
+        // SN-1 changed again while the batch was in flight
+        outbox.appendAll(List.of(entry("SN-1", false, 3)));
+
+        assertThat(outbox.removeDelivered(sent)).isEqualTo(1);
+        assertThat(outbox.fetchOldest(10)).containsExactly(entry("SN-1", false, 3));
+    }
+
+    @Test
+    void emptyOutbox() {
+        assertThat(outbox.count()).isZero();
+        assertThat(outbox.maxSequence()).isZero();
+        assertThat(outbox.fetchOldest(10)).isEmpty();
+        assertThat(outbox.removeDelivered(List.of())).isZero();
+    }
+
+    private static OccupancySyncEntry entry(String serialNumber, boolean occupied, long sequence) {
+        return new OccupancySyncEntry(serialNumber, occupied, sequence);
+    }
+}
@@ -0,0 +1,101 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryResolution;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetryRollup;
+import com.constructinsight.edgeserver.iot.domain.model.TelemetrySample;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcTelemetryHistoryStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcTelemetryHistoryStoreTests {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Autowired
+    private JdbcTelemetryHistoryStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM telemetry_samples");
+        jdbcTemplate.update("DELETE FROM telemetry_rollups");
+    }
+
+    @Test
+    void readsOnlyTheRequestedDeviceAndRange() {
+        store.append(List.of(
+                sample("SN-1", T0, 90, null),
+                sample("SN-1", T0.plusSeconds(30), null, 0.25),
+                sample("SN-2", T0.plusSeconds(30), 50, null),
+                sample("SN-1", T0.plusSeconds(60), 80, null)), List.of());
+
+        assertThat(store.findSamples("SN-1", T0, T0.plusSeconds(60), 10))
+                .extracting(TelemetrySample::sampledAt)
+                .containsExactly(T0, T0.plusSeconds(30));
+        assertThat(store.findSamples("SN-1", T0, T0.plusSeconds(60), 10).get(1))
+                .isEqualTo(sample("SN-1", T0.plusSeconds(30), null, 0.25));
+        assertThat(store.findSamples("SN-1", T0, T0.plusSeconds(120), 1)).hasSize(1);
+    }
+
+    @Test
+    void mergesRollupDeltasIntoTheirBucket() {
+        TelemetryRollup first = TelemetryRollup.of(sample("SN-1", T0, 90, null), TelemetryResolution.MINUTE);
+        TelemetryRollup second = TelemetryRollup.of(sample("SN-1", T0.plusSeconds(10), null, null), TelemetryResolution.MINUTE)
+                .merge(TelemetryRollup.of(sample("SN-1", T0.plusSeconds(20), 70, null), TelemetryResolution.MINUTE));
+
+        store.append(List.of(), List.of(first));
+        store.append(List.of(), List.of(second));
+
+        assertThat(store.findRollups("SN-1", TelemetryResolution.MINUTE, T0, T0.plusSeconds(60), 10))
+                .singleElement()
+                .satisfies(rollup -> {
+                    assertThat(rollup.sampleCount()).isEqualTo(3);
+                    assertThat(rollup.averageBattery()).isEqualTo(80.0);
+                    assertThat(rollup.batteryMin()).isEqualTo(70);
+                    assertThat(rollup.batteryMax()).isEqualTo(90);
+                    assertThat(rollup.failingRate()).isEqualTo(0.1);
+                    assertThat(rollup.occupiedCount()).isEqualTo(3);
+                });
+        assertThat(store.findRollups("SN-1", TelemetryResolution.HOUR, T0, T0.plusSeconds(60), 10)).isEmpty();
+    }
+
+    @Test
+    void deletesByAgeInBoundedChunks() {
+        store.append(List.of(
+                sample("SN-1", T0, 90, null),
+                sample("SN-1", T0.plusSeconds(1), 90, null),
+                sample("SN-1", T0.plusSeconds(2), 90, null)),
+                List.of(TelemetryRollup.of(sample("SN-1", T0, 90, null), TelemetryResolution.HOUR)));
+
+        assertThat(store.deleteSamplesBefore(T0.plusSeconds(2), 1)).isEqualTo(1);
+        assertThat(store.deleteSamplesBefore(T0.plusSeconds(2), 10)).isEqualTo(1);
+        assertThat(store.findSamples("SN-1", T0, T0.plusSeconds(60), 10)).hasSize(1);
+
+        assertThat(store.deleteRollupsBefore(TelemetryResolution.MINUTE, T0.plusSeconds(3600), 10)).isZero();
+        assertThat(store.deleteRollupsBefore(TelemetryResolution.HOUR, T0.plusSeconds(3600), 10)).isEqualTo(1);
+    }
+
+    private static TelemetrySample sample(String serialNumber, Instant at, Integer battery, Double failingRate) {
+        return new TelemetrySample(serialNumber, at, battery, DeviceStatus.ONLINE, true, 1, 10, failingRate);
+    }
+}
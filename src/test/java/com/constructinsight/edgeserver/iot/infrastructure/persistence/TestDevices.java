@@ -0,0 +1,33 @@
+package com.constructinsight.edgeserver.iot.infrastructure.persistence;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+
+import java.time.Instant;
+
+/**
+ * Test fixture: an unbound, ONLINE sensor that checked in just now
+ */
+final class TestDevices {
+
+    private TestDevices() {
+    }
+
+    /**
+     * Builder preset with the fixture values, for tests that override some of them
+     */
+    static IotDevice.IotDeviceBuilder sensor(String serialNumber) {
+        return IotDevice.builder()
+                .serialNumber(serialNumber)
+                .model("Model-X")
+                .type(DeviceType.SENSOR)
+                .status(DeviceStatus.ONLINE)
+                .battery(90)
+                .lastCheckIn(Instant.now());
+    }
+
+    static IotDevice device(String serialNumber) {
+        return sensor(serialNumber).build();
+    }
+}
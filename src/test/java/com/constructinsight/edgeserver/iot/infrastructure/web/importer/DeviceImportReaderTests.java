@@ -0,0 +1,97 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.importer;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceType;
+import com.constructinsight.edgeserver.iot.domain.model.IotDevice;
+import com.constructinsight.edgeserver.iot.infrastructure.web.mapper.IotDeviceMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceImportReaderTests {
+
+    private final DeviceImportReader reader = new DeviceImportReader(
+            new ObjectMapper().registerModule(new JavaTimeModule()), new IotDeviceMapperImpl());
+
+    @Test
+    void readsNdjsonLineByLineAndYieldsNullForBadLines() {
+        List<IotDevice> devices = drain(reader.ndjson(stream("""
+                {"serialNumber":"SN-1","model":"M","type":"SENSOR","status":"ONLINE","battery":90}
+
+                not json
+                {"serialNumber":"SN-2","model":"M","type":"CAMERA","status":"OFFLINE","battery":15}
+                """)));
+
+        assertThat(devices).hasSize(3);
+        assertThat(devices.get(0).getSerialNumber()).isEqualTo("SN-1");
+        assertThat(devices.get(1)).isNull();
+        assertThat(devices.get(2).getType()).isEqualTo(DeviceType.CAMERA);
+    }
+
+    @Test
+    void readsJsonArrayAndYieldsNullForElementsThatAreNotDevices() throws IOException {
+        List<IotDevice> devices = drain(reader.jsonArray(stream("""
+                [{"serialNumber":"SN-1","model":"M","type":"SENSOR","status":"ONLINE","battery":90},
+                 {"serialNumber":"SN-2","model":"M","type":"TOASTER","status":"ONLINE","battery":90},
+                 42,
+                 {"serialNumber":"SN-3","model":"M","type":"CAMERA","status":"OFFLINE","battery":15}]
+                """)));
+
+        assertThat(devices).hasSize(4);
+        assertThat(devices.get(0).getSerialNumber()).isEqualTo("SN-1");
+        assertThat(devices.get(1)).isNull();
+        assertThat(devices.get(2)).isNull();
+        assertThat(devices.get(3).getSerialNumber()).isEqualTo("SN-3");
+    }
+
+    @Test
+    void failsWhenTheJsonArrayItselfIsMalformed() throws IOException {
+        Iterator<IotDevice> devices = reader.jsonArray(stream(
+                "[{\"serialNumber\":\"SN-1\",\"model\":\"M\",\"type\":\"SENSOR\",\"status\":\"ONLINE\",\"battery\":90},{\"serial"));
+
+        assertThat(devices.next().getSerialNumber()).isEqualTo("SN-1");
+        assertThatThrownBy(devices::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsCsvByHeaderNames() throws IOException {
+        List<IotDevice> devices = drain(reader.csv(stream("""
+                battery,serialNumber,type,status,model,lastCheckIn
+                80,SN-1,sensor,online,M,2025-01-01T00:00:00Z
+                x,SN-2,sensor,online,M,
+                """)));
+
+        assertThat(devices).hasSize(2);
+        assertThat(devices.get(0).getBattery()).isEqualTo(80);
+        assertThat(devices.get(0).getLastCheckIn()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+        assertThat(devices.get(1)).isNull();
+    }
+
+    @Test
+    void rejectsCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> reader.csv(stream("serialNumber,model\nSN-1,M\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("type");
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<IotDevice> drain(Iterator<IotDevice> iterator) {
+        List<IotDevice> devices = new ArrayList<>();
+        iterator.forEachRemaining(devices::add);
+        return devices;
+    }
+}
@@ -0,0 +1,106 @@
+package com.constructinsight.edgeserver.iot.infrastructure.web.stream;
+
+import com.constructinsight.edgeserver.iot.application.service.OwnerKpiTracker;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOccupancyChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.event.DeviceOwnershipChangedEvent;
+import com.constructinsight.edgeserver.iot.domain.model.DeviceStatus;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.DeviceChangeDto;
+import com.constructinsight.edgeserver.iot.infrastructure.web.dto.DeviceChangeDto.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceChangeStreamHubTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OwnerKpiTracker ownerIndex = mock(OwnerKpiTracker.class);
+    private final DeviceChangeStreamHub hub = new DeviceChangeStreamHub(
+            ownerIndex, meterRegistry, 2, 10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Test
+    void deliversChangesOnlyToTheOwnersSubscribers() throws InterruptedException {
+        RecordingEmitter alice = new RecordingEmitter(null);
+        RecordingEmitter bob = new RecordingEmitter(null);
+        hub.register("alice", alice);
+        hub.register("bob", bob);
+        when(ownerIndex.ownerOf("SN-1")).thenReturn(Optional.of("alice"));
+
+        hub.onOwnershipChanged(new DeviceOwnershipChangedEvent("SN-1", null, "alice", DeviceStatus.ONLINE, 80));
+        hub.onOccupancyChanged(new DeviceOccupancyChangedEvent("SN-1", true, Instant.now()));
+
+        assertThat(alice.received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(alice.changes).extracting(DeviceChangeDto::getType)
+                .containsExactly(ChangeType.BOUND, ChangeType.OCCUPANCY);
+        assertThat(bob.changes).isEmpty();
+    }
+
+    @Test
+    void evictsSubscriberWhoseBufferOverflows() throws InterruptedException {
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stalled);
+        hub.register("alice", slow);
+        when(ownerIndex.ownerOf("SN-1")).thenReturn(Optional.of("alice"));
+
+        for (int i = 0; i < 3; i++) {
+            hub.onOccupancyChanged(new DeviceOccupancyChangedEvent("SN-1", i % 2 == 0, Instant.now()));
+        }
+
+        assertThat(hub.subscribers()).isZero();
+        assertThat(meterRegistry.counter("edge.stream.evicted").count()).isEqualTo(1);
+        stalled.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Captures sent changes; optionally blocks every send until released (slow client)
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch stalled;
+        private final List<DeviceChangeDto> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received = new CountDownLatch(2);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stalled != null) {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(DeviceChangeDto.class::isInstance)
+                    .map(DeviceChangeDto.class::cast)
+                    .forEach(change -> {
+                        changes.add(change);
+                        received.countDown();
+                    });
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
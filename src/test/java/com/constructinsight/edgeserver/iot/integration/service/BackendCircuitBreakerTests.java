@@ -0,0 +1,66 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.integration.service.BackendCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendCircuitBreakerTests {
+
+    private final AtomicLong now = new AtomicLong();
+    private final BackendCircuitBreaker breaker =
+            new BackendCircuitBreaker(new SimpleMeterRegistry(), 3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void allowsSingleProbeWhenHalfOpen() {
+        tripOpen();
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        tripOpen();
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
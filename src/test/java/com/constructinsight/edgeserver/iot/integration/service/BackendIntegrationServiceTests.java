@@ -0,0 +1,114 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.integration.dto.SpotTelemetrySyncDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServiceUnavailable;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BackendIntegrationServiceTests {
+
+    private static final String BACKEND = "http://backend.test";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final DeviceSyncStatusRecorder syncStatusRecorder =
+            new DeviceSyncStatusRecorder((status, serialNumbers) -> serialNumbers.size(), meterRegistry);
+    private final BackendCircuitBreaker circuitBreaker =
+            new BackendCircuitBreaker(meterRegistry, 2, Duration.ofMinutes(1));
+    private final BackendIntegrationService service = new BackendIntegrationService(
+            restTemplate, syncStatusRecorder, circuitBreaker,
+            new BackendRetryPolicy(meterRegistry, 2, Duration.ofMillis(1), Duration.ofMillis(5)));
+
+    BackendIntegrationServiceTests() {
+        ReflectionTestUtils.setField(service, "backendMainUrl", BACKEND);
+        ReflectionTestUtils.setField(service, "batchSyncEnabled", true);
+    }
+
+    @Test
+    void retriesTransientErrorThenSucceeds() {
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry")).andRespond(withServiceUnavailable());
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry")).andRespond(withSuccess());
+
+        assertThat(service.notifyBackendOfTelemetry("SN-1", true)).isTrue();
+
+        server.verify();
+        assertThat(meterRegistry.counter("edge.backend.retry").count()).isEqualTo(1);
+        assertThat(syncStatusRecorder.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void outageOpensCircuitAndReportsEverythingUndeliveredWithoutCallingBackend() {
+        // 2 batches x 2 attempts each, then the circuit is open
+        server.expect(ExpectedCount.times(4), requestTo(BACKEND + "/api/spots/sync-telemetry/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withServiceUnavailable());
+
+        List<SpotTelemetrySyncDto> second = List.of(item("SN-1", false), item("SN-3", true));
+
+        assertThat(service.syncBatch(List.of(item("SN-1", true), item("SN-2", true)))).hasSize(2);
+        assertThat(service.syncBatch(second)).isEqualTo(second);
+        assertThat(service.syncBatch(List.of(item("SN-4", true), item("SN-5", true)))).hasSize(2);
+        assertThat(service.notifyBackendOfTelemetry("SN-6", true)).isFalse();
+
+        server.verify();
+        assertThat(circuitBreaker.state()).isEqualTo(BackendCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void internalServerErrorKeepsChangesPendingAndCountsAgainstTheCircuit() {
+        // 500 is not retried inline, but it is a backend failure, not a rejection of the change
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry/batch")).andRespond(withServerError());
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry")).andRespond(withServerError());
+
+        List<SpotTelemetrySyncDto> batch = List.of(item("SN-1", true), item("SN-2", true));
+        assertThat(service.syncBatch(batch)).isEqualTo(batch);
+        assertThat(service.notifyBackendOfTelemetry("SN-3", true)).isFalse();
+
+        server.verify(); // no per-item fallback and no inline retry
+        assertThat(circuitBreaker.state()).isEqualTo(BackendCircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.counter("edge.backend.retry").count()).isZero();
+    }
+
+    @Test
+    void errorResponsesThatDoNotThrowAreClassifiedLikeExceptions() {
+        // Error handler that never throws: non-2xx responses come back as regular responses
+        restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry")).andRespond(withBadRequest());
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry")).andRespond(withServiceUnavailable());
+        server.expect(requestTo(BACKEND + "/api/spots/sync-telemetry/batch")).andRespond(withServiceUnavailable());
+
+        assertThat(service.notifyBackendOfTelemetry("SN-1", true)).isTrue(); // rejected: dropped
+        assertThat(service.notifyBackendOfTelemetry("SN-2", true)).isFalse(); // retried later
+        assertThat(service.syncBatch(List.of(item("SN-3", true), item("SN-4", true)))).hasSize(2);
+
+        server.verify(); // no per-item fallback after a transient batch response
+        assertThat(circuitBreaker.state()).isEqualTo(BackendCircuitBreaker.State.OPEN);
+    }
+
+    private static SpotTelemetrySyncDto item(String serialNumber, boolean occupied) {
+        return SpotTelemetrySyncDto.builder().serialNumber(serialNumber).occupied(occupied).build();
+    }
+}
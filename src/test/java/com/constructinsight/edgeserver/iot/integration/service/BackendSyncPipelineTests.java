@@ -0,0 +1,151 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.infrastructure.persistence.JdbcOccupancySyncOutbox;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox relay against a local stub of the main backend (JDK HTTP server)
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcOccupancySyncOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BackendSyncPipelineTests {
+
+    private static final int BENCHMARK_SENSORS = 20_000;
+
+    @Autowired
+    private JdbcOccupancySyncOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger backendStatus = new AtomicInteger(200);
+
+    private HttpServer backend;
+    private BackendSyncPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.createContext("/api/spots/sync-telemetry", exchange -> {
+            receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(backendStatus.get(), -1);
+            exchange.close();
+        });
+        backend.start();
+
+        BackendIntegrationService integrationService = new BackendIntegrationService(
+                new RestTemplate(),
+                new DeviceSyncStatusRecorder((status, serialNumbers) -> serialNumbers.size(), meterRegistry),
+                new BackendCircuitBreaker(meterRegistry, 5, Duration.ofMinutes(1)),
+                new BackendRetryPolicy(meterRegistry, 2, Duration.ofMillis(1), Duration.ofMillis(5)));
+        ReflectionTestUtils.setField(integrationService, "backendMainUrl",
+                "http://localhost:" + backend.getAddress().getPort());
+        ReflectionTestUtils.setField(integrationService, "batchSyncEnabled", true);
+
+        // Relay thread not started: the tests drive relayOnce() themselves
+        pipeline = new BackendSyncPipeline(integrationService, outbox, meterRegistry, 100, Duration.ofMillis(10), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.stop(0);
+        jdbcTemplate.update("DELETE FROM backend_sync_outbox");
+    }
+
+    @Test
+    void outageKeepsChangesInOutboxAndRecoveryDeliversLatestState() {
+        backendStatus.set(503);
+        pipeline.enqueue("SN-1", true);
+        pipeline.enqueue("SN-2", true);
+        pipeline.flushStaged();
+        pipeline.enqueue("SN-1", false);
+        pipeline.flushStaged();
+
+        assertThat(outboxDepth()).isEqualTo(3); // upper bound until the relay reads the outbox
+        assertThat(pipeline.relayOnce()).isZero();
+        assertThat(outbox.count()).isEqualTo(2);
+        assertThat(outboxDepth()).isEqualTo(2);
+        assertThat(receivedBodies).hasSize(2); // batch attempt + one retry
+
+        backendStatus.set(200);
+        receivedBodies.clear();
+
+        assertThat(pipeline.relayOnce()).isEqualTo(2);
+        assertThat(outbox.count()).isZero();
+        assertThat(outboxDepth()).isZero();
+        assertThat(receivedBodies).singleElement().satisfies(body -> {
+            assertThat(body).contains("\"serialNumber\":\"SN-1\",\"occupied\":false");
+            assertThat(body.indexOf("SN-2")).isLessThan(body.indexOf("SN-1"));
+        });
+    }
+
+    @Test
+    void permanentRejectionIsNotRetried() {
+        backendStatus.set(400);
+        pipeline.enqueue("SN-1", true);
+        pipeline.flushStaged();
+
+        assertThat(pipeline.relayOnce()).isEqualTo(1);
+        assertThat(outbox.count()).isZero();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void replayThroughputAfterOutage() {
+        backendStatus.set(503);
+        for (int i = 0; i < BENCHMARK_SENSORS; i++) {
+            pipeline.enqueue("SN-" + i, i % 2 == 0);
+        }
+        pipeline.flushStaged();
+        assertThat(pipeline.relayOnce()).isZero();
+        assertThat(outbox.count()).isEqualTo(BENCHMARK_SENSORS);
+
+        backendStatus.set(200);
+        long start = System.nanoTime();
+        int delivered = 0;
+        int sent;
+        while ((sent = pipeline.relayOnce()) > 0) {
+            delivered += sent;
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        System.out.printf("Outbox replay: %d changes in %d ms (%d changes/s)%n",
+                delivered, elapsedMs, delivered * 1000L / elapsedMs);
+        assertThat(delivered).isEqualTo(BENCHMARK_SENSORS);
+        assertThat(outbox.count()).isZero();
+    }
+
+    private double outboxDepth() {
+        return meterRegistry.get("edge.backend.sync.outbox.depth").gauge().value();
+    }
+}
@@ -0,0 +1,55 @@
+package com.constructinsight.edgeserver.iot.integration.service;
+
+import com.constructinsight.edgeserver.iot.domain.model.DeviceSyncStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceSyncStatusRecorderTests {
+
+    private final Map<DeviceSyncStatus, List<String>> writes = new EnumMap<>(DeviceSyncStatus.class);
+    private boolean failing;
+
+    private final DeviceSyncStatusRecorder recorder = new DeviceSyncStatusRecorder((status, serialNumbers) -> {
+        if (failing) {
+            throw new IllegalStateException("database down");
+        }
+        writes.computeIfAbsent(status, s -> new ArrayList<>()).addAll(serialNumbers);
+        return serialNumbers.size();
+    }, new SimpleMeterRegistry());
+
+    @Test
+    void flushesOneUpdatePerStatusWithLatestResultPerDevice() {
+        recorder.record("SN-1", DeviceSyncStatus.DISCONNECTED);
+        recorder.record("SN-2", DeviceSyncStatus.CONNECTED);
+        recorder.record("SN-1", DeviceSyncStatus.CONNECTED);
+        recorder.record("SN-3", DeviceSyncStatus.DISCONNECTED);
+
+        recorder.flush();
+
+        assertThat(writes.get(DeviceSyncStatus.CONNECTED)).containsExactlyInAnyOrder("SN-1", "SN-2");
+        assertThat(writes.get(DeviceSyncStatus.DISCONNECTED)).containsExactly("SN-3");
+        assertThat(recorder.depth()).isZero();
+    }
+
+    @Test
+    void failedFlushIsRetriedWithoutOverwritingNewerResults() {
+        recorder.record("SN-1", DeviceSyncStatus.DISCONNECTED);
+        recorder.record("SN-2", DeviceSyncStatus.DISCONNECTED);
+        failing = true;
+        recorder.flush();
+
+        recorder.record("SN-1", DeviceSyncStatus.CONNECTED);
+        failing = false;
+        recorder.flush();
+
+        assertThat(writes.get(DeviceSyncStatus.CONNECTED)).containsExactly("SN-1");
+        assertThat(writes.get(DeviceSyncStatus.DISCONNECTED)).containsExactly("SN-2");
+    }
+}